@@ -2,14 +2,36 @@ package model.entite;
 
 /**
  * Abstract base class for all game entities (buildings).
- * Defines common attributes like id, level, and maxLevel.
+ * Defines common attributes like id, level, maxLevel and tile location.
  */
 public abstract class Building {
 
+    // ========== Class Variables (Static) - Dirty Field Bits ==========
+
+    public static final long FIELD_ID = 1L << 0;
+    public static final long FIELD_LEVEL = 1L << 1;
+    public static final long FIELD_MAX_LEVEL = 1L << 2;
+    public static final long FIELD_X = 1L << 3;
+    public static final long FIELD_Y = 1L << 4;
+
+    /**
+     * First bit available to subclasses.
+     */
+    protected static final int FIRST_SUBCLASS_FIELD_BIT = 5;
+
     protected String id;
     protected int level;
     protected int maxLevel;
 
+    // Location on the city tile grid
+    protected int x;
+    protected int y;
+
+    /**
+     * Bitmask of the fields modified since the last synchronization.
+     */
+    protected long dirtyFields;
+
     /**
      * Constructor for Building.
      * 
@@ -36,18 +58,72 @@ public abstract class Building {
         return maxLevel;
     }
 
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public long getDirtyFields() {
+        return dirtyFields;
+    }
+
     // ========== Setters ==========
 
     public void setId(String id) {
         this.id = id;
+        markDirty(FIELD_ID);
     }
 
     public void setLevel(int level) {
         this.level = level;
+        markDirty(FIELD_LEVEL);
     }
 
     public void setMaxLevel(int maxLevel) {
         this.maxLevel = maxLevel;
+        markDirty(FIELD_MAX_LEVEL);
+    }
+
+    public void setX(int x) {
+        this.x = x;
+        markDirty(FIELD_X);
+    }
+
+    public void setY(int y) {
+        this.y = y;
+        markDirty(FIELD_Y);
+    }
+
+    /**
+     * Places the building on a tile.
+     * 
+     * @param x Column of the tile
+     * @param y Row of the tile
+     */
+    public void setLocation(int x, int y) {
+        setX(x);
+        setY(y);
+    }
+
+    // ========== Dirty Tracking ==========
+
+    /**
+     * Flags fields as modified. Called by every setter.
+     * 
+     * @param fields Bits of the modified fields
+     */
+    protected void markDirty(long fields) {
+        this.dirtyFields |= fields;
+    }
+
+    /**
+     * Forgets modifications, once they have been synchronized.
+     */
+    public void clearDirtyFields() {
+        this.dirtyFields = 0L;
     }
 
     // ========== Standard Methods ==========
@@ -58,6 +134,8 @@ public abstract class Building {
                 "id='" + id + '\'' +
                 ", level=" + level +
                 ", maxLevel=" + maxLevel +
+                ", x=" + x +
+                ", y=" + y +
                 '}';
     }
 }
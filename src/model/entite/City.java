@@ -1,6 +1,7 @@
 package model.entite;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -10,6 +11,20 @@ import java.util.List;
  */
 public class City {
 
+    // ========== Class Variables (Static) - Dirty Field Bits ==========
+
+    public static final long FIELD_NAME = 1L << 0;
+    public static final long FIELD_CURRENT_DAY = 1L << 1;
+    public static final long FIELD_TOTAL_COINS = 1L << 2;
+    public static final long FIELD_ELECTRICITY_PRICE = 1L << 3;
+    public static final long FIELD_GLOBAL_HAPPINESS = 1L << 4;
+    public static final long FIELD_TOTAL_POPULATION = 1L << 5;
+    public static final long FIELD_TOTAL_POLLUTION = 1L << 6;
+    public static final long FIELD_TOTAL_ENERGY_AVAILABLE = 1L << 7;
+    public static final long FIELD_TOTAL_STORAGE_CAPACITY = 1L << 8;
+    public static final long FIELD_TOTAL_ENERGY_DEMAND = 1L << 9;
+    public static final long FIELD_AVG_PURCHASING_POWER = 1L << 10;
+
     private String name;
     private int currentDay;
     private double totalCoins;
@@ -27,6 +42,26 @@ public class City {
 
     private List<PowerPlant> powerPlants;
     private List<Residence> residences;
+    private ResidenceCensus residenceCensus;
+    private CityLedger ledger;
+    private PollutionField pollutionField; // Optional, null keeps pollution city-wide
+
+    /**
+     * Bitmask of the scalar fields modified since the last synchronization.
+     */
+    private long dirtyFields;
+
+    /**
+     * Number of the last generated plant id. Only ever grows, so ids stay
+     * unique when plants are removed.
+     */
+    private int plantSerial;
+
+    /**
+     * Bumped whenever buildings are removed, replaced or reordered.
+     * Appending buildings does not change it.
+     */
+    private long structureVersion;
 
     /**
      * Constructor for City.
@@ -46,6 +81,9 @@ public class City {
 
         this.powerPlants = new ArrayList<>();
         this.residences = new ArrayList<>();
+        this.residenceCensus = new ResidenceCensus();
+        this.residenceCensus.setDay(currentDay);
+        this.ledger = new CityLedger();
     }
 
     // ========== Getters ==========
@@ -102,58 +140,146 @@ public class City {
         return residences;
     }
 
+    public ResidenceCensus getResidenceCensus() {
+        return residenceCensus;
+    }
+
+    public CityLedger getLedger() {
+        return ledger;
+    }
+
+    public PollutionField getPollutionField() {
+        return pollutionField;
+    }
+
+    public long getDirtyFields() {
+        return dirtyFields;
+    }
+
+    public long getStructureVersion() {
+        return structureVersion;
+    }
+
+    public int getPlantSerial() {
+        return plantSerial;
+    }
+
     // ========== Setters ==========
 
     public void setName(String name) {
         this.name = name;
+        markDirty(FIELD_NAME);
     }
 
     public void setCurrentDay(int currentDay) {
         this.currentDay = currentDay;
+        residenceCensus.setDay(currentDay);
+        markDirty(FIELD_CURRENT_DAY);
     }
 
     public void setTotalCoins(double totalCoins) {
         this.totalCoins = totalCoins;
+        markDirty(FIELD_TOTAL_COINS);
     }
 
     public void setElectricityPrice(double electricityPrice) {
         this.electricityPrice = electricityPrice;
+        markDirty(FIELD_ELECTRICITY_PRICE);
     }
 
     public void setGlobalHappiness(double globalHappiness) {
         this.globalHappiness = globalHappiness;
+        markDirty(FIELD_GLOBAL_HAPPINESS);
     }
 
     public void setTotalPopulation(int totalPopulation) {
         this.totalPopulation = totalPopulation;
+        markDirty(FIELD_TOTAL_POPULATION);
     }
 
     public void setTotalPollution(double totalPollution) {
         this.totalPollution = totalPollution;
+        markDirty(FIELD_TOTAL_POLLUTION);
     }
 
     public void setTotalEnergyAvailable(double totalEnergyAvailable) {
         this.totalEnergyAvailable = totalEnergyAvailable;
+        markDirty(FIELD_TOTAL_ENERGY_AVAILABLE);
     }
 
     public void setTotalStorageCapacity(double totalStorageCapacity) {
         this.totalStorageCapacity = totalStorageCapacity;
+        markDirty(FIELD_TOTAL_STORAGE_CAPACITY);
     }
 
     public void setTotalEnergyDemand(double totalEnergyDemand) {
         this.totalEnergyDemand = totalEnergyDemand;
+        markDirty(FIELD_TOTAL_ENERGY_DEMAND);
     }
 
     public void setAvgPurchasingPower(double avgPurchasingPower) {
         this.avgPurchasingPower = avgPurchasingPower;
+        markDirty(FIELD_AVG_PURCHASING_POWER);
     }
 
     public void setPowerPlants(List<PowerPlant> powerPlants) {
         this.powerPlants = powerPlants;
+        this.plantSerial = Math.max(plantSerial, powerPlants.size());
+        markStructureChanged();
+    }
+
+    /**
+     * Restores the plant id counter, e.g. when importing a city.
+     * Never lowered below the number of plants.
+     */
+    public void setPlantSerial(int plantSerial) {
+        this.plantSerial = Math.max(plantSerial, powerPlants.size());
     }
 
     public void setResidences(List<Residence> residences) {
+        for (Residence residence : this.residences) {
+            residence.attachCensus(null);
+        }
+        residenceCensus.clear();
         this.residences = residences;
+        for (Residence residence : residences) {
+            residence.attachCensus(residenceCensus);
+        }
+        markStructureChanged();
+    }
+
+    /**
+     * Enables local pollution: plants emit on their tile and residences
+     * suffer from the pollution of their own tile.
+     * 
+     * @param pollutionField Field covering the city, or null to disable
+     */
+    public void setPollutionField(PollutionField pollutionField) {
+        this.pollutionField = pollutionField;
+    }
+
+    // ========== Dirty Tracking ==========
+
+    private void markDirty(long fields) {
+        this.dirtyFields |= fields;
+    }
+
+    /**
+     * Forgets modifications of the city scalars, once they have been
+     * synchronized. Buildings keep their own masks.
+     */
+    public void clearDirtyFields() {
+        this.dirtyFields = 0L;
+    }
+
+    /**
+     * Records that buildings were removed, replaced or reordered, so that
+     * synchronization starts over from a full state. Called by the methods
+     * of this class; callers editing the building lists directly other than
+     * by appending must call it themselves.
+     */
+    public void markStructureChanged() {
+        this.structureVersion++;
     }
 
     // ========== Standard Methods ==========
@@ -173,9 +299,85 @@ public class City {
 
     public void addPowerPlant(PowerPlant plant) {
         this.powerPlants.add(plant);
+        this.plantSerial = Math.max(plantSerial, powerPlants.size());
+    }
+
+    /**
+     * Generates the id of a new plant, such as {@code coal-3}. The number
+     * follows every plant ever added, removed ones included.
+     * 
+     * @param type Type of the new plant
+     * @return Id not used by any other plant of this city
+     */
+    public String nextPlantId(PlantType type) {
+        return type.getKey() + "-" + (++plantSerial);
     }
 
     public void addResidence(Residence residence) {
         this.residences.add(residence);
+        residence.attachCensus(residenceCensus);
+    }
+
+    /**
+     * Presizes the residence storage before residences are added one by one.
+     * 
+     * @param additional Number of residences about to be added
+     */
+    public void ensureResidenceCapacity(int additional) {
+        if (this.residences instanceof ArrayList) {
+            ((ArrayList<Residence>) this.residences).ensureCapacity(this.residences.size() + additional);
+        }
+        residenceCensus.ensureSlotCapacity(additional);
+    }
+
+    /**
+     * Adds many residences at once, growing the storage only once.
+     * 
+     * @param newResidences Residences to add, in order
+     */
+    public void addResidences(Collection<Residence> newResidences) {
+        ensureResidenceCapacity(newResidences.size());
+        this.residences.addAll(newResidences);
+        for (Residence residence : newResidences) {
+            residence.attachCensus(residenceCensus);
+        }
+    }
+
+    /**
+     * Removes a residence from the city and from its census.
+     * 
+     * @param index Position of the residence in the residence list
+     * @return The removed residence
+     */
+    public Residence removeResidence(int index) {
+        Residence residence = this.residences.remove(index);
+        residence.attachCensus(null);
+        markStructureChanged();
+        return residence;
+    }
+
+    /**
+     * Removes a power plant from the city.
+     * 
+     * @param index Position of the plant in the plant list
+     * @return The removed plant
+     */
+    public PowerPlant removePowerPlant(int index) {
+        PowerPlant plant = this.powerPlants.remove(index);
+        markStructureChanged();
+        return plant;
+    }
+
+    /**
+     * Puts another plant in place of an existing one.
+     * 
+     * @param index Position of the plant in the plant list
+     * @param plant New plant
+     * @return The replaced plant
+     */
+    public PowerPlant replacePowerPlant(int index, PowerPlant plant) {
+        PowerPlant replaced = this.powerPlants.set(index, plant);
+        markStructureChanged();
+        return replaced;
     }
 }
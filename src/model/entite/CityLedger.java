@@ -0,0 +1,124 @@
+package model.entite;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Daily financial history of a city.
+ * Every entry is recorded by day and category, and optionally by plant
+ * type, in Fenwick trees so that any range of days can be summed in
+ * O(log days) however long the session.
+ */
+public class CityLedger {
+
+    // ========== Instance Variables ==========
+
+    private final Map<LedgerCategory, FenwickTree> totals;
+
+    /**
+     * Entries tied to a plant type (index = PlantType ordinal).
+     */
+    private final Map<LedgerCategory, FenwickTree[]> byPlantType;
+
+    // ========== Constructor ==========
+
+    public CityLedger() {
+        this.totals = new EnumMap<>(LedgerCategory.class);
+        this.byPlantType = new EnumMap<>(LedgerCategory.class);
+        for (LedgerCategory category : LedgerCategory.values()) {
+            totals.put(category, new FenwickTree());
+            byPlantType.put(category, new FenwickTree[PlantType.values().length]);
+        }
+    }
+
+    // ========== Recording Methods ==========
+
+    /**
+     * Records an entry not tied to a plant type.
+     * 
+     * @param day      Day of the entry, starting at 1
+     * @param category Kind of entry
+     * @param amount   Positive amount in coins
+     */
+    public void record(int day, LedgerCategory category, double amount) {
+        totals.get(category).add(day, amount);
+    }
+
+    /**
+     * Records an entry tied to a plant type.
+     * 
+     * @param day       Day of the entry, starting at 1
+     * @param category  Kind of entry
+     * @param plantType Type of the plant concerned
+     * @param amount    Positive amount in coins
+     */
+    public void record(int day, LedgerCategory category, PlantType plantType, double amount) {
+        record(day, category, amount);
+        FenwickTree[] trees = byPlantType.get(category);
+        FenwickTree tree = trees[plantType.ordinal()];
+        if (tree == null) {
+            tree = new FenwickTree();
+            trees[plantType.ordinal()] = tree;
+        }
+        tree.add(day, amount);
+    }
+
+    // ========== Query Methods ==========
+
+    /**
+     * @return Total of a category from day {@code fromDay} to {@code toDay}
+     *         included
+     */
+    public double sum(LedgerCategory category, int fromDay, int toDay) {
+        return totals.get(category).rangeSum(fromDay, toDay);
+    }
+
+    /**
+     * @return Total of a category for one plant type from day {@code fromDay}
+     *         to {@code toDay} included
+     */
+    public double sum(LedgerCategory category, PlantType plantType, int fromDay, int toDay) {
+        FenwickTree tree = byPlantType.get(category)[plantType.ordinal()];
+        return tree == null ? 0.0 : tree.rangeSum(fromDay, toDay);
+    }
+
+    /**
+     * @return Total of every expense category for one plant type
+     */
+    public double expenses(PlantType plantType, int fromDay, int toDay) {
+        double total = 0.0;
+        for (LedgerCategory category : LedgerCategory.values()) {
+            if (!category.isIncome()) {
+                total += sum(category, plantType, fromDay, toDay);
+            }
+        }
+        return total;
+    }
+
+    public double income(int fromDay, int toDay) {
+        double total = 0.0;
+        for (LedgerCategory category : LedgerCategory.values()) {
+            if (category.isIncome()) {
+                total += sum(category, fromDay, toDay);
+            }
+        }
+        return total;
+    }
+
+    public double expenses(int fromDay, int toDay) {
+        double total = 0.0;
+        for (LedgerCategory category : LedgerCategory.values()) {
+            if (!category.isIncome()) {
+                total += sum(category, fromDay, toDay);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return Income minus expenses over the range
+     */
+    public double net(int fromDay, int toDay) {
+        return income(fromDay, toDay) - expenses(fromDay, toDay);
+    }
+}
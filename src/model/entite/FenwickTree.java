@@ -0,0 +1,81 @@
+package model.entite;
+
+import java.util.Arrays;
+
+/**
+ * Growable Fenwick (binary indexed) tree of doubles indexed by day.
+ * Adding to a day and summing a range of days both cost O(log n).
+ */
+public class FenwickTree {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Tree nodes (index 0 unused). Capacity is always a power of two.
+     */
+    private double[] tree;
+
+    public FenwickTree() {
+        this.tree = new double[INITIAL_CAPACITY + 1];
+    }
+
+    /**
+     * @return Highest index currently stored without growing
+     */
+    public int getCapacity() {
+        return tree.length - 1;
+    }
+
+    /**
+     * Adds an amount to one index.
+     * 
+     * @param index  Index, starting at 1
+     * @param amount Amount to add
+     */
+    public void add(int index, double amount) {
+        if (index < 1) {
+            throw new IllegalArgumentException("Index must be at least 1: " + index);
+        }
+        while (index > getCapacity()) {
+            grow();
+        }
+        for (int i = index; i < tree.length; i += i & -i) {
+            tree[i] += amount;
+        }
+    }
+
+    /**
+     * @param index Last index included
+     * @return Sum of indices 1 to index
+     */
+    public double prefixSum(int index) {
+        int i = Math.min(index, getCapacity());
+        double sum = 0.0;
+        for (; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @param from First index included
+     * @param to   Last index included
+     * @return Sum of the range, 0 if it is empty
+     */
+    public double rangeSum(int from, int to) {
+        if (to < from) {
+            return 0.0;
+        }
+        return prefixSum(to) - prefixSum(Math.max(0, from - 1));
+    }
+
+    /**
+     * Doubles the capacity. Existing nodes keep their ranges; the only new
+     * non-empty node is the last one, which covers everything.
+     */
+    private void grow() {
+        int capacity = getCapacity();
+        tree = Arrays.copyOf(tree, capacity * 2 + 1);
+        tree[capacity * 2] = tree[capacity];
+    }
+}
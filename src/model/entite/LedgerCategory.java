@@ -0,0 +1,39 @@
+package model.entite;
+
+/**
+ * Enum representing the kinds of entries recorded in a city ledger.
+ */
+public enum LedgerCategory {
+    /**
+     * Electricity sold to the residences.
+     */
+    RESIDENCE_REVENUE(true),
+
+    /**
+     * Daily maintenance and operating cost of the power plants.
+     */
+    OPERATING_COST(false),
+
+    /**
+     * Construction of new power plants.
+     */
+    CONSTRUCTION_COST(false),
+
+    /**
+     * Upgrades of existing power plants.
+     */
+    UPGRADE_COST(false);
+
+    private final boolean income;
+
+    LedgerCategory(boolean income) {
+        this.income = income;
+    }
+
+    /**
+     * @return true for income, false for expenses
+     */
+    public boolean isIncome() {
+        return income;
+    }
+}
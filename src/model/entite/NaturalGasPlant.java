@@ -30,6 +30,10 @@ public class NaturalGasPlant extends PowerPlant {
     public static final double UPGRADE_COST_MULTIPLIER = 1.5;
     public static final int UPGRADE_TIME_BASE = 3;
 
+    // Reliability
+    public static final double MEAN_TIME_BETWEEN_FAILURES = 150.0; // days
+    public static final int BASE_REPAIR_TIME = 2;
+
     // ========== Constructor ==========
 
     /**
@@ -41,4 +45,26 @@ public class NaturalGasPlant extends PowerPlant {
         super(id, BASE_POWER_OUTPUT, BASE_STORAGE_CAPACITY, BASE_DAILY_COST,
                 BASE_POLLUTION_RATE, BASE_CONSTRUCTION_TIME, DEFAULT_MAX_LEVEL);
     }
+
+    // ========== Parameters ==========
+
+    /**
+     * @return Runtime parameters holding the constants of this class
+     */
+    static PlantParameters defaults() {
+        return new PlantParameters(PlantType.NATURAL_GAS,
+                BASE_CONSTRUCTION_COST, BASE_CONSTRUCTION_TIME, DEFAULT_MAX_LEVEL,
+                BASE_POWER_OUTPUT, BASE_STORAGE_CAPACITY, BASE_DAILY_COST, BASE_POLLUTION_RATE,
+                POWER_OUTPUT_GROWTH_RATE, STORAGE_GROWTH_RATE, DAILY_COST_GROWTH_RATE,
+                POLLUTION_REDUCTION_RATE,
+                UPGRADE_COST_BASE, UPGRADE_COST_MULTIPLIER, UPGRADE_TIME_BASE,
+                MEAN_TIME_BETWEEN_FAILURES, BASE_REPAIR_TIME);
+    }
+
+    // ========== Other Methods ==========
+
+    @Override
+    public PlantType getType() {
+        return PlantType.NATURAL_GAS;
+    }
 }
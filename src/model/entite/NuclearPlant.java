@@ -31,6 +31,10 @@ public class NuclearPlant extends PowerPlant {
     public static final double UPGRADE_COST_MULTIPLIER = 2.0;
     public static final int UPGRADE_TIME_BASE = 6;
 
+    // Reliability
+    public static final double MEAN_TIME_BETWEEN_FAILURES = 1500.0; // days - rare but long (safety inspections)
+    public static final int BASE_REPAIR_TIME = 20;
+
     // ========== Constructor ==========
 
     /**
@@ -42,4 +46,26 @@ public class NuclearPlant extends PowerPlant {
         super(id, BASE_POWER_OUTPUT, BASE_STORAGE_CAPACITY, BASE_DAILY_COST,
                 BASE_POLLUTION_RATE, BASE_CONSTRUCTION_TIME, DEFAULT_MAX_LEVEL);
     }
+
+    // ========== Parameters ==========
+
+    /**
+     * @return Runtime parameters holding the constants of this class
+     */
+    static PlantParameters defaults() {
+        return new PlantParameters(PlantType.NUCLEAR,
+                BASE_CONSTRUCTION_COST, BASE_CONSTRUCTION_TIME, DEFAULT_MAX_LEVEL,
+                BASE_POWER_OUTPUT, BASE_STORAGE_CAPACITY, BASE_DAILY_COST, BASE_POLLUTION_RATE,
+                POWER_OUTPUT_GROWTH_RATE, STORAGE_GROWTH_RATE, DAILY_COST_GROWTH_RATE,
+                POLLUTION_REDUCTION_RATE,
+                UPGRADE_COST_BASE, UPGRADE_COST_MULTIPLIER, UPGRADE_TIME_BASE,
+                MEAN_TIME_BETWEEN_FAILURES, BASE_REPAIR_TIME);
+    }
+
+    // ========== Other Methods ==========
+
+    @Override
+    public PlantType getType() {
+        return PlantType.NUCLEAR;
+    }
 }
@@ -0,0 +1,360 @@
+package model.entite;
+
+/**
+ * Runtime parameter set of one power plant type.
+ * Starts from the compile-time constants of the plant class and can be
+ * overridden by name, so balancing sweeps do not need a rebuild.
+ */
+public class PlantParameters {
+
+    // ========== Instance Variables ==========
+
+    private final PlantType type;
+
+    // Construction
+    private double constructionCost;
+    private int constructionTime;
+    private int maxLevel;
+
+    // Stats at level 1
+    private double powerOutput;
+    private double storageCapacity;
+    private double dailyCost;
+    private double pollutionRate;
+
+    // Growth rates per level
+    private double powerOutputGrowthRate;
+    private double storageGrowthRate;
+    private double dailyCostGrowthRate;
+    private double pollutionReductionRate;
+
+    // Upgrade
+    private double upgradeCostBase;
+    private double upgradeCostMultiplier;
+    private int upgradeTimeBase;
+
+    // Reliability
+    private double meanTimeBetweenFailures;
+    private int repairTime;
+
+    // ========== Constructor ==========
+
+    /**
+     * Creates a parameter set holding the compile-time defaults of a type.
+     * 
+     * @param type Plant type
+     */
+    public PlantParameters(PlantType type) {
+        this(type.defaults());
+    }
+
+    /**
+     * Creates a parameter set from explicit values. Used by each plant class
+     * to expose its own constants (see {@link PlantType#defaults()}).
+     */
+    PlantParameters(PlantType type,
+            double constructionCost, int constructionTime, int maxLevel,
+            double powerOutput, double storageCapacity, double dailyCost, double pollutionRate,
+            double powerOutputGrowthRate, double storageGrowthRate, double dailyCostGrowthRate,
+            double pollutionReductionRate,
+            double upgradeCostBase, double upgradeCostMultiplier, int upgradeTimeBase,
+            double meanTimeBetweenFailures, int repairTime) {
+        this.type = type;
+        this.constructionCost = constructionCost;
+        this.constructionTime = constructionTime;
+        this.maxLevel = maxLevel;
+        this.powerOutput = powerOutput;
+        this.storageCapacity = storageCapacity;
+        this.dailyCost = dailyCost;
+        this.pollutionRate = pollutionRate;
+        this.powerOutputGrowthRate = powerOutputGrowthRate;
+        this.storageGrowthRate = storageGrowthRate;
+        this.dailyCostGrowthRate = dailyCostGrowthRate;
+        this.pollutionReductionRate = pollutionReductionRate;
+        this.upgradeCostBase = upgradeCostBase;
+        this.upgradeCostMultiplier = upgradeCostMultiplier;
+        this.upgradeTimeBase = upgradeTimeBase;
+        this.meanTimeBetweenFailures = meanTimeBetweenFailures;
+        this.repairTime = repairTime;
+    }
+
+    /**
+     * Copy constructor.
+     * 
+     * @param other Parameter set to copy
+     */
+    public PlantParameters(PlantParameters other) {
+        this.type = other.type;
+        this.constructionCost = other.constructionCost;
+        this.constructionTime = other.constructionTime;
+        this.maxLevel = other.maxLevel;
+        this.powerOutput = other.powerOutput;
+        this.storageCapacity = other.storageCapacity;
+        this.dailyCost = other.dailyCost;
+        this.pollutionRate = other.pollutionRate;
+        this.powerOutputGrowthRate = other.powerOutputGrowthRate;
+        this.storageGrowthRate = other.storageGrowthRate;
+        this.dailyCostGrowthRate = other.dailyCostGrowthRate;
+        this.pollutionReductionRate = other.pollutionReductionRate;
+        this.upgradeCostBase = other.upgradeCostBase;
+        this.upgradeCostMultiplier = other.upgradeCostMultiplier;
+        this.upgradeTimeBase = other.upgradeTimeBase;
+        this.meanTimeBetweenFailures = other.meanTimeBetweenFailures;
+        this.repairTime = other.repairTime;
+    }
+
+    // ========== Getters ==========
+
+    public PlantType getType() {
+        return type;
+    }
+
+    public double getConstructionCost() {
+        return constructionCost;
+    }
+
+    public int getConstructionTime() {
+        return constructionTime;
+    }
+
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    public double getPowerOutput() {
+        return powerOutput;
+    }
+
+    public double getStorageCapacity() {
+        return storageCapacity;
+    }
+
+    public double getDailyCost() {
+        return dailyCost;
+    }
+
+    public double getPollutionRate() {
+        return pollutionRate;
+    }
+
+    public double getPowerOutputGrowthRate() {
+        return powerOutputGrowthRate;
+    }
+
+    public double getStorageGrowthRate() {
+        return storageGrowthRate;
+    }
+
+    public double getDailyCostGrowthRate() {
+        return dailyCostGrowthRate;
+    }
+
+    public double getPollutionReductionRate() {
+        return pollutionReductionRate;
+    }
+
+    public double getUpgradeCostBase() {
+        return upgradeCostBase;
+    }
+
+    public double getUpgradeCostMultiplier() {
+        return upgradeCostMultiplier;
+    }
+
+    public int getUpgradeTimeBase() {
+        return upgradeTimeBase;
+    }
+
+    public double getMeanTimeBetweenFailures() {
+        return meanTimeBetweenFailures;
+    }
+
+    public int getRepairTime() {
+        return repairTime;
+    }
+
+    // ========== Setters ==========
+
+    public void setConstructionCost(double constructionCost) {
+        this.constructionCost = constructionCost;
+    }
+
+    public void setConstructionTime(int constructionTime) {
+        this.constructionTime = constructionTime;
+    }
+
+    public void setMaxLevel(int maxLevel) {
+        this.maxLevel = maxLevel;
+    }
+
+    public void setPowerOutput(double powerOutput) {
+        this.powerOutput = powerOutput;
+    }
+
+    public void setStorageCapacity(double storageCapacity) {
+        this.storageCapacity = storageCapacity;
+    }
+
+    public void setDailyCost(double dailyCost) {
+        this.dailyCost = dailyCost;
+    }
+
+    public void setPollutionRate(double pollutionRate) {
+        this.pollutionRate = pollutionRate;
+    }
+
+    public void setPowerOutputGrowthRate(double powerOutputGrowthRate) {
+        this.powerOutputGrowthRate = powerOutputGrowthRate;
+    }
+
+    public void setStorageGrowthRate(double storageGrowthRate) {
+        this.storageGrowthRate = storageGrowthRate;
+    }
+
+    public void setDailyCostGrowthRate(double dailyCostGrowthRate) {
+        this.dailyCostGrowthRate = dailyCostGrowthRate;
+    }
+
+    public void setPollutionReductionRate(double pollutionReductionRate) {
+        this.pollutionReductionRate = pollutionReductionRate;
+    }
+
+    public void setUpgradeCostBase(double upgradeCostBase) {
+        this.upgradeCostBase = upgradeCostBase;
+    }
+
+    public void setUpgradeCostMultiplier(double upgradeCostMultiplier) {
+        this.upgradeCostMultiplier = upgradeCostMultiplier;
+    }
+
+    public void setUpgradeTimeBase(int upgradeTimeBase) {
+        this.upgradeTimeBase = upgradeTimeBase;
+    }
+
+    public void setMeanTimeBetweenFailures(double meanTimeBetweenFailures) {
+        this.meanTimeBetweenFailures = meanTimeBetweenFailures;
+    }
+
+    public void setRepairTime(int repairTime) {
+        this.repairTime = repairTime;
+    }
+
+    /**
+     * Overrides one parameter by the name of its constant in the plant class
+     * (e.g. {@code POWER_OUTPUT_GROWTH_RATE}).
+     * 
+     * @param name  Constant name
+     * @param value New value
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public void set(String name, String value) {
+        switch (name) {
+            case "BASE_CONSTRUCTION_COST":
+                this.constructionCost = Double.parseDouble(value);
+                break;
+            case "BASE_CONSTRUCTION_TIME":
+                this.constructionTime = Integer.parseInt(value);
+                break;
+            case "DEFAULT_MAX_LEVEL":
+                this.maxLevel = Integer.parseInt(value);
+                break;
+            case "BASE_POWER_OUTPUT":
+                this.powerOutput = Double.parseDouble(value);
+                break;
+            case "BASE_STORAGE_CAPACITY":
+                this.storageCapacity = Double.parseDouble(value);
+                break;
+            case "BASE_DAILY_COST":
+                this.dailyCost = Double.parseDouble(value);
+                break;
+            case "BASE_POLLUTION_RATE":
+                this.pollutionRate = Double.parseDouble(value);
+                break;
+            case "POWER_OUTPUT_GROWTH_RATE":
+                this.powerOutputGrowthRate = Double.parseDouble(value);
+                break;
+            case "STORAGE_GROWTH_RATE":
+                this.storageGrowthRate = Double.parseDouble(value);
+                break;
+            case "DAILY_COST_GROWTH_RATE":
+                this.dailyCostGrowthRate = Double.parseDouble(value);
+                break;
+            case "POLLUTION_REDUCTION_RATE":
+                this.pollutionReductionRate = Double.parseDouble(value);
+                break;
+            case "UPGRADE_COST_BASE":
+                this.upgradeCostBase = Double.parseDouble(value);
+                break;
+            case "UPGRADE_COST_MULTIPLIER":
+                this.upgradeCostMultiplier = Double.parseDouble(value);
+                break;
+            case "UPGRADE_TIME_BASE":
+                this.upgradeTimeBase = Integer.parseInt(value);
+                break;
+            case "MEAN_TIME_BETWEEN_FAILURES":
+                this.meanTimeBetweenFailures = Double.parseDouble(value);
+                break;
+            case "BASE_REPAIR_TIME":
+                this.repairTime = Integer.parseInt(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown " + type.getKey() + " parameter: " + name);
+        }
+    }
+
+    // ========== Level Methods ==========
+
+    public double computePowerOutput(int level) {
+        return powerOutput * Math.pow(powerOutputGrowthRate, level - 1);
+    }
+
+    public double computeStorageCapacity(int level) {
+        return storageCapacity * Math.pow(storageGrowthRate, level - 1);
+    }
+
+    public double computeDailyCost(int level) {
+        return dailyCost * Math.pow(dailyCostGrowthRate, level - 1);
+    }
+
+    public double computePollutionRate(int level) {
+        return pollutionRate * Math.pow(pollutionReductionRate, level - 1);
+    }
+
+    /**
+     * @param level Current level
+     * @return Cost to upgrade from this level to the next one
+     */
+    public double computeUpgradeCost(int level) {
+        return upgradeCostBase * Math.pow(upgradeCostMultiplier, level - 1);
+    }
+
+    /**
+     * Creates a plant of this type using these parameters.
+     * 
+     * @param id Unique identifier for the plant
+     * @return New plant, under construction
+     */
+    public PowerPlant createPlant(String id) {
+        PowerPlant plant = type.create(id);
+        plant.setMaxLevel(maxLevel);
+        plant.setRemainingTime(constructionTime);
+        applyLevel(plant, 1);
+        return plant;
+    }
+
+    /**
+     * Sets the level of a plant and every stat that depends on it.
+     * 
+     * @param plant Plant of this type
+     * @param level New level
+     */
+    public void applyLevel(PowerPlant plant, int level) {
+        plant.setLevel(level);
+        plant.setPowerOutput(computePowerOutput(level));
+        plant.setStorageCapacity(computeStorageCapacity(level));
+        plant.setDailyCost(computeDailyCost(level));
+        plant.setPollutionRate(computePollutionRate(level));
+        plant.setUpgradeCost(computeUpgradeCost(level));
+        plant.setUpgradeTime(upgradeTimeBase);
+    }
+}
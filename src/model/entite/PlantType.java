@@ -0,0 +1,68 @@
+package model.entite;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Enum listing every concrete power plant type.
+ * Gives access to a factory and to the default parameters of each type.
+ */
+public enum PlantType {
+
+    COAL("coal", CoalPlant::new, CoalPlant::defaults),
+    SOLAR("solar", SolarPlant::new, SolarPlant::defaults),
+    WIND("wind", WindPlant::new, WindPlant::defaults),
+    HYDRO("hydro", HydroPlant::new, HydroPlant::defaults),
+    NUCLEAR("nuclear", NuclearPlant::new, NuclearPlant::defaults),
+    NATURAL_GAS("natural_gas", NaturalGasPlant::new, NaturalGasPlant::defaults),
+    BATTERY_STORAGE("battery_storage", BatteryStorage::new, BatteryStorage::defaults);
+
+    private final String key;
+    private final Function<String, PowerPlant> factory;
+    private final Supplier<PlantParameters> defaults;
+
+    PlantType(String key, Function<String, PowerPlant> factory, Supplier<PlantParameters> defaults) {
+        this.key = key;
+        this.factory = factory;
+        this.defaults = defaults;
+    }
+
+    /**
+     * @return Lower-case name used in configuration files
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Creates a new plant of this type with its compile-time defaults.
+     * 
+     * @param id Unique identifier for the plant
+     * @return New plant, under construction
+     */
+    public PowerPlant create(String id) {
+        return factory.apply(id);
+    }
+
+    /**
+     * @return New parameter set holding the compile-time constants of the
+     *         plant class
+     */
+    public PlantParameters defaults() {
+        return defaults.get();
+    }
+
+    /**
+     * @param key Lower-case name used in configuration files
+     * @return Matching type
+     * @throws IllegalArgumentException if no type has this key
+     */
+    public static PlantType fromKey(String key) {
+        for (PlantType type : values()) {
+            if (type.key.equals(key)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown plant type: " + key);
+    }
+}
@@ -0,0 +1,129 @@
+package model.entite;
+
+/**
+ * Pollution concentration on the city tile grid.
+ * Plants emit on their tile; diffusion and decay are applied once a day by
+ * the simulation. Values are stored row by row in a primitive array so any
+ * tile is read in O(1).
+ */
+public class PollutionField {
+
+    // ========== Class Variables (Static) - Defaults ==========
+
+    public static final float DEFAULT_DIFFUSION_RATE = 0.20f; // Share exchanged with each neighbour per day
+    public static final float DEFAULT_DECAY_RATE = 0.05f; // -5% per day
+
+    /**
+     * Highest diffusion rate for which the explicit scheme stays stable.
+     */
+    public static final float MAX_DIFFUSION_RATE = 0.25f;
+
+    // ========== Instance Variables ==========
+
+    private final int width;
+    private final int height;
+    private float[] concentration; // index = y * width + x
+    private float diffusionRate;
+    private float decayRate;
+
+    // ========== Constructor ==========
+
+    /**
+     * Creates a clean field.
+     * 
+     * @param width  Number of tile columns
+     * @param height Number of tile rows
+     */
+    public PollutionField(int width, int height) {
+        if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid size: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.concentration = new float[width * height];
+        this.diffusionRate = DEFAULT_DIFFUSION_RATE;
+        this.decayRate = DEFAULT_DECAY_RATE;
+    }
+
+    // ========== Getters ==========
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public float getDiffusionRate() {
+        return diffusionRate;
+    }
+
+    public float getDecayRate() {
+        return decayRate;
+    }
+
+    /**
+     * @return Concentration of a tile, 0 outside the grid
+     */
+    public float get(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return 0.0f;
+        }
+        return concentration[y * width + x];
+    }
+
+    /**
+     * @return Concentration at the building's tile
+     */
+    public float get(Building building) {
+        return get(building.getX(), building.getY());
+    }
+
+    /**
+     * Direct access to the grid, row by row, for the diffusion solver.
+     */
+    public float[] getConcentration() {
+        return concentration;
+    }
+
+    // ========== Setters ==========
+
+    public void setDiffusionRate(float diffusionRate) {
+        if (diffusionRate < 0.0f || diffusionRate > MAX_DIFFUSION_RATE) {
+            throw new IllegalArgumentException("Diffusion rate must be within [0, " + MAX_DIFFUSION_RATE + "]");
+        }
+        this.diffusionRate = diffusionRate;
+    }
+
+    public void setDecayRate(float decayRate) {
+        if (decayRate < 0.0f || decayRate > 1.0f) {
+            throw new IllegalArgumentException("Decay rate must be within [0, 1]");
+        }
+        this.decayRate = decayRate;
+    }
+
+    /**
+     * Replaces the grid, once the solver has computed the next day.
+     * 
+     * @param concentration Grid of the same size
+     */
+    public void setConcentration(float[] concentration) {
+        if (concentration.length != width * height) {
+            throw new IllegalArgumentException("Grid size mismatch");
+        }
+        this.concentration = concentration;
+    }
+
+    // ========== Other Methods ==========
+
+    /**
+     * Adds pollution to a tile. Emissions outside the grid are ignored.
+     */
+    public void emit(int x, int y, float amount) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return;
+        }
+        concentration[y * width + x] += amount;
+    }
+}
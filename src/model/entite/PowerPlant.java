@@ -31,6 +31,21 @@ public abstract class PowerPlant extends Building {
     public static final double UPGRADE_COST_MULTIPLIER = 1.5;
     public static final int UPGRADE_TIME_BASE = 3;
 
+    // Reliability defaults
+    public static final double MEAN_TIME_BETWEEN_FAILURES = 180.0; // days
+    public static final int BASE_REPAIR_TIME = 3; // days
+
+    // Dirty field bits (id, level, maxLevel and location bits inherited from Building)
+    public static final long FIELD_STATUS = 1L << (FIRST_SUBCLASS_FIELD_BIT + 0);
+    public static final long FIELD_POWER_OUTPUT = 1L << (FIRST_SUBCLASS_FIELD_BIT + 1);
+    public static final long FIELD_STORAGE_CAPACITY = 1L << (FIRST_SUBCLASS_FIELD_BIT + 2);
+    public static final long FIELD_CURRENT_ENERGY_STORED = 1L << (FIRST_SUBCLASS_FIELD_BIT + 3);
+    public static final long FIELD_DAILY_COST = 1L << (FIRST_SUBCLASS_FIELD_BIT + 4);
+    public static final long FIELD_POLLUTION_RATE = 1L << (FIRST_SUBCLASS_FIELD_BIT + 5);
+    public static final long FIELD_UPGRADE_COST = 1L << (FIRST_SUBCLASS_FIELD_BIT + 6);
+    public static final long FIELD_UPGRADE_TIME = 1L << (FIRST_SUBCLASS_FIELD_BIT + 7);
+    public static final long FIELD_REMAINING_TIME = 1L << (FIRST_SUBCLASS_FIELD_BIT + 8);
+
     // ========== Instance Variables ==========
 
     // id, level, maxLevel inherited from Building
@@ -152,38 +167,47 @@ public abstract class PowerPlant extends Building {
 
     public void setStatus(PlantStatus status) {
         this.status = status;
+        markDirty(FIELD_STATUS);
     }
 
     public void setPowerOutput(double powerOutput) {
         this.powerOutput = powerOutput;
+        markDirty(FIELD_POWER_OUTPUT);
     }
 
     public void setStorageCapacity(double storageCapacity) {
         this.storageCapacity = storageCapacity;
+        markDirty(FIELD_STORAGE_CAPACITY);
     }
 
     public void setCurrentEnergyStored(double currentEnergyStored) {
         this.currentEnergyStored = currentEnergyStored;
+        markDirty(FIELD_CURRENT_ENERGY_STORED);
     }
 
     public void setDailyCost(double dailyCost) {
         this.dailyCost = dailyCost;
+        markDirty(FIELD_DAILY_COST);
     }
 
     public void setPollutionRate(double pollutionRate) {
         this.pollutionRate = pollutionRate;
+        markDirty(FIELD_POLLUTION_RATE);
     }
 
     public void setUpgradeCost(double upgradeCost) {
         this.upgradeCost = upgradeCost;
+        markDirty(FIELD_UPGRADE_COST);
     }
 
     public void setUpgradeTime(int upgradeTime) {
         this.upgradeTime = upgradeTime;
+        markDirty(FIELD_UPGRADE_TIME);
     }
 
     public void setRemainingTime(int remainingTime) {
         this.remainingTime = remainingTime;
+        markDirty(FIELD_REMAINING_TIME);
     }
 
     // ========== Standard Methods ==========
@@ -201,4 +225,11 @@ public abstract class PowerPlant extends Building {
                 ", pollutionRate=" + pollutionRate +
                 '}';
     }
+
+    // ========== Other Methods ==========
+
+    /**
+     * @return Kind of plant, used to look up its runtime parameters
+     */
+    public abstract PlantType getType();
 }
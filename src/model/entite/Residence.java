@@ -22,6 +22,21 @@ public class Residence extends Building {
     public static final double DEMAND_GROWTH_RATE = 1.1; // +10% demand/level
     public static final double PURCHASING_POWER_GROWTH_RATE = 1.15; // +15% purchasing power/level
 
+    // Dirty field bits (id, level, maxLevel and location bits inherited from Building)
+    // Daily fluctuations are not flagged: they derive from (seed, id, day)
+    public static final long FIELD_MAX_CAPACITY = 1L << (FIRST_SUBCLASS_FIELD_BIT + 0);
+    public static final long FIELD_CURRENT_OCCUPANCY = 1L << (FIRST_SUBCLASS_FIELD_BIT + 1);
+    public static final long FIELD_ENERGY_DEMAND = 1L << (FIRST_SUBCLASS_FIELD_BIT + 2);
+    public static final long FIELD_ENERGY_DEMAND_MIN = 1L << (FIRST_SUBCLASS_FIELD_BIT + 3);
+    public static final long FIELD_ENERGY_DEMAND_MAX = 1L << (FIRST_SUBCLASS_FIELD_BIT + 4);
+    public static final long FIELD_PURCHASING_POWER = 1L << (FIRST_SUBCLASS_FIELD_BIT + 5);
+    public static final long FIELD_PURCHASING_POWER_MIN = 1L << (FIRST_SUBCLASS_FIELD_BIT + 6);
+    public static final long FIELD_PURCHASING_POWER_MAX = 1L << (FIRST_SUBCLASS_FIELD_BIT + 7);
+    public static final long FIELD_SUPPLIED = 1L << (FIRST_SUBCLASS_FIELD_BIT + 8);
+
+    // Fluctuation
+    private static final int NOT_DRAWN = Integer.MIN_VALUE;
+
     // ========== Instance Variables ==========
 
     // id, level, maxLevel inherited from Building
@@ -43,6 +58,11 @@ public class Residence extends Building {
     // Status
     private boolean isSupplied;
 
+    // Aggregation
+    private ResidenceCensus census; // Shared with the owning city, null if standalone
+    private int censusSlot;
+    private int fluctuationDay; // Day of the current random values
+
     // ========== Constructor ==========
 
     public Residence(String id) {
@@ -50,8 +70,7 @@ public class Residence extends Building {
         this.maxCapacity = BASE_MAX_CAPACITY;
         this.currentOccupancy = 0;
         this.isSupplied = true; // Default to true until first check
-
-        regenerateRandomValues(); // Initialize random demand/power
+        this.fluctuationDay = NOT_DRAWN; // Random demand/power drawn on first read
     }
 
     // ========== Getters ==========
@@ -67,26 +86,32 @@ public class Residence extends Building {
     }
 
     public double getEnergyDemand() {
+        refreshIfExpired();
         return energyDemand;
     }
 
     public double getEnergyDemandMin() {
+        refreshIfExpired();
         return energyDemandMin;
     }
 
     public double getEnergyDemandMax() {
+        refreshIfExpired();
         return energyDemandMax;
     }
 
     public double getPurchasingPower() {
+        refreshIfExpired();
         return purchasingPower;
     }
 
     public double getPurchasingPowerMin() {
+        refreshIfExpired();
         return purchasingPowerMin;
     }
 
     public double getPurchasingPowerMax() {
+        refreshIfExpired();
         return purchasingPowerMax;
     }
 
@@ -106,38 +131,71 @@ public class Residence extends Building {
 
     public void setMaxCapacity(int maxCapacity) {
         this.maxCapacity = maxCapacity;
+        markDirty(FIELD_MAX_CAPACITY);
     }
 
     public void setCurrentOccupancy(int currentOccupancy) {
         this.currentOccupancy = currentOccupancy;
+        markDirty(FIELD_CURRENT_OCCUPANCY);
     }
 
     public void setEnergyDemand(double energyDemand) {
+        refreshIfExpired();
         this.energyDemand = energyDemand;
+        markDirty(FIELD_ENERGY_DEMAND);
     }
 
     public void setEnergyDemandMin(double energyDemandMin) {
+        refreshIfExpired();
         this.energyDemandMin = energyDemandMin;
+        markDirty(FIELD_ENERGY_DEMAND_MIN);
     }
 
     public void setEnergyDemandMax(double energyDemandMax) {
+        refreshIfExpired();
         this.energyDemandMax = energyDemandMax;
+        markDirty(FIELD_ENERGY_DEMAND_MAX);
     }
 
     public void setPurchasingPower(double purchasingPower) {
+        refreshIfExpired();
         this.purchasingPower = purchasingPower;
+        markDirty(FIELD_PURCHASING_POWER);
     }
 
     public void setPurchasingPowerMin(double purchasingPowerMin) {
+        refreshIfExpired();
         this.purchasingPowerMin = purchasingPowerMin;
+        markDirty(FIELD_PURCHASING_POWER_MIN);
     }
 
     public void setPurchasingPowerMax(double purchasingPowerMax) {
+        refreshIfExpired();
         this.purchasingPowerMax = purchasingPowerMax;
+        markDirty(FIELD_PURCHASING_POWER_MAX);
     }
 
     public void setSupplied(boolean supplied) {
         isSupplied = supplied;
+        markDirty(FIELD_SUPPLIED);
+    }
+
+    @Override
+    public void setId(String id) {
+        if (census != null) {
+            census.changeKey(censusSlot, ResidenceCensus.keyOf(id));
+            this.fluctuationDay = NOT_DRAWN; // Values derive from the id
+        }
+        super.setId(id);
+    }
+
+    @Override
+    public void setLevel(int level) {
+        if (census != null) {
+            census.changeLevel(censusSlot, level);
+        }
+        this.fluctuationDay = NOT_DRAWN; // Bounds derive from the level
+        super.setLevel(level);
     }
 
     // ========== Standard Methods ==========
@@ -148,7 +206,7 @@ public class Residence extends Building {
                 "id='" + id + '\'' +
                 ", level=" + level +
                 ", currentOccupancy=" + currentOccupancy +
-                ", energyDemand=" + energyDemand +
+                ", energyDemand=" + getEnergyDemand() +
                 ", isSupplied=" + isSupplied +
                 '}';
     }
@@ -158,17 +216,144 @@ public class Residence extends Building {
     /**
      * Regenerates random values for energy demand and purchasing power
      * within the bounds defined by the current level.
+     * Inside a city the values are derived from (seed, id, day) of its census;
+     * a standalone residence draws them with Math.random().
      */
     public void regenerateRandomValues() {
         // Calculate bounds based on level and store in attributes
-        this.energyDemandMin = BASE_ENERGY_DEMAND_MIN * Math.pow(DEMAND_GROWTH_RATE, level - 1);
-        this.energyDemandMax = BASE_ENERGY_DEMAND_MAX * Math.pow(DEMAND_GROWTH_RATE, level - 1);
+        double demandGrowthRate = census != null ? census.getDemandGrowthRate() : DEMAND_GROWTH_RATE;
+        double purchasingPowerGrowthRate = census != null ? census.getPurchasingPowerGrowthRate()
+                : PURCHASING_POWER_GROWTH_RATE;
+        this.energyDemandMin = computeEnergyDemandMin(level, demandGrowthRate);
+        this.energyDemandMax = computeEnergyDemandMax(level, demandGrowthRate);
+
+        this.purchasingPowerMin = computePurchasingPowerMin(level, purchasingPowerGrowthRate);
+        this.purchasingPowerMax = computePurchasingPowerMax(level, purchasingPowerGrowthRate);
+
+        double demandRandom;
+        double purchasingPowerRandom;
+        if (census != null) {
+            long key = census.getSlotKey(censusSlot);
+            this.fluctuationDay = census.getDay();
+            demandRandom = ResidenceCensus.uniform(census.getSeed(), key, fluctuationDay,
+                    ResidenceCensus.DEMAND_STREAM);
+            purchasingPowerRandom = ResidenceCensus.uniform(census.getSeed(), key, fluctuationDay,
+                    ResidenceCensus.PURCHASING_POWER_STREAM);
+        } else {
+            this.fluctuationDay = 0;
+            demandRandom = Math.random();
+            purchasingPowerRandom = Math.random();
+        }
+
+        // Randomize within bounds
+        this.energyDemand = energyDemandMin + (energyDemandMax - energyDemandMin) * demandRandom;
+        this.purchasingPower = purchasingPowerMin + (purchasingPowerMax - purchasingPowerMin) * purchasingPowerRandom;
+    }
+
+    /**
+     * Daily values that clients cannot recompute from the census: those set
+     * through the setters to something else than the values derived for
+     * the current day.
+     *
+     * @return Mask of the overridden demand and purchasing power fields
+     */
+    public long getOverriddenFields() {
+        if (census == null || fluctuationDay != census.getDay()) {
+            return 0L; // Not drawn yet or expired: the next read derives them
+        }
+        long key = census.getSlotKey(censusSlot);
+        double demandMin = computeEnergyDemandMin(level, census.getDemandGrowthRate());
+        double demandMax = computeEnergyDemandMax(level, census.getDemandGrowthRate());
+        double powerMin = computePurchasingPowerMin(level, census.getPurchasingPowerGrowthRate());
+        double powerMax = computePurchasingPowerMax(level, census.getPurchasingPowerGrowthRate());
+        double demand = demandMin + (demandMax - demandMin)
+                * ResidenceCensus.uniform(census.getSeed(), key, fluctuationDay, ResidenceCensus.DEMAND_STREAM);
+        double power = powerMin + (powerMax - powerMin)
+                * ResidenceCensus.uniform(census.getSeed(), key, fluctuationDay,
+                        ResidenceCensus.PURCHASING_POWER_STREAM);
+
+        long fields = 0L;
+        if (energyDemand != demand) {
+            fields |= FIELD_ENERGY_DEMAND;
+        }
+        if (energyDemandMin != demandMin) {
+            fields |= FIELD_ENERGY_DEMAND_MIN;
+        }
+        if (energyDemandMax != demandMax) {
+            fields |= FIELD_ENERGY_DEMAND_MAX;
+        }
+        if (purchasingPower != power) {
+            fields |= FIELD_PURCHASING_POWER;
+        }
+        if (purchasingPowerMin != powerMin) {
+            fields |= FIELD_PURCHASING_POWER_MIN;
+        }
+        if (purchasingPowerMax != powerMax) {
+            fields |= FIELD_PURCHASING_POWER_MAX;
+        }
+        return fields;
+    }
+
+    /**
+     * Computes the values of the current day if they were not computed yet.
+     * Residences outside a city keep their first values until regenerated.
+     */
+    private void refreshIfExpired() {
+        if (fluctuationDay == NOT_DRAWN || (census != null && fluctuationDay != census.getDay())) {
+            regenerateRandomValues();
+        }
+    }
+
+    // ========== Aggregation Methods ==========
 
-        this.purchasingPowerMin = BASE_PURCHASING_POWER_MIN * Math.pow(PURCHASING_POWER_GROWTH_RATE, level - 1);
-        this.purchasingPowerMax = BASE_PURCHASING_POWER_MAX * Math.pow(PURCHASING_POWER_GROWTH_RATE, level - 1);
+    /**
+     * Links this residence to the census of its city.
+     * From then on its values are those of the census day.
+     * 
+     * @param census Census of the owning city, or null to detach
+     */
+    void attachCensus(ResidenceCensus census) {
+        if (this.census != null) {
+            this.census.unregister(censusSlot);
+        }
+        this.census = census;
+        this.fluctuationDay = NOT_DRAWN;
+        if (census != null) {
+            this.censusSlot = census.register(level, ResidenceCensus.keyOf(id));
+        }
+    }
+
+    // ========== Level Bounds ==========
+
+    public static double computeEnergyDemandMin(int level) {
+        return computeEnergyDemandMin(level, DEMAND_GROWTH_RATE);
+    }
+
+    public static double computeEnergyDemandMax(int level) {
+        return computeEnergyDemandMax(level, DEMAND_GROWTH_RATE);
+    }
+
+    public static double computePurchasingPowerMin(int level) {
+        return computePurchasingPowerMin(level, PURCHASING_POWER_GROWTH_RATE);
+    }
+
+    public static double computePurchasingPowerMax(int level) {
+        return computePurchasingPowerMax(level, PURCHASING_POWER_GROWTH_RATE);
+    }
+
+    public static double computeEnergyDemandMin(int level, double demandGrowthRate) {
+        return BASE_ENERGY_DEMAND_MIN * Math.pow(demandGrowthRate, level - 1);
+    }
+
+    public static double computeEnergyDemandMax(int level, double demandGrowthRate) {
+        return BASE_ENERGY_DEMAND_MAX * Math.pow(demandGrowthRate, level - 1);
+    }
+
+    public static double computePurchasingPowerMin(int level, double purchasingPowerGrowthRate) {
+        return BASE_PURCHASING_POWER_MIN * Math.pow(purchasingPowerGrowthRate, level - 1);
+    }
 
-        // Randomize within bounds using Math.random()
-        this.energyDemand = energyDemandMin + (energyDemandMax - energyDemandMin) * Math.random();
-        this.purchasingPower = purchasingPowerMin + (purchasingPowerMax - purchasingPowerMin) * Math.random();
+    public static double computePurchasingPowerMax(int level, double purchasingPowerGrowthRate) {
+        return BASE_PURCHASING_POWER_MAX * Math.pow(purchasingPowerGrowthRate, level - 1);
     }
 }
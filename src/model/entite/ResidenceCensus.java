@@ -0,0 +1,305 @@
+package model.entite;
+
+import java.util.Arrays;
+
+/**
+ * Shared bookkeeping for all residences of a city.
+ * Keeps the number of residences per level so that city-wide demand can be
+ * aggregated in O(levels), and the day and seed from which every residence
+ * derives its random values.
+ * Each registered residence also owns a slot holding its level and id key,
+ * so aggregates can be computed from primitive arrays without touching the
+ * residence objects.
+ */
+public class ResidenceCensus {
+
+    // ========== Class Variables (Static) ==========
+
+    /**
+     * Level stored in a slot whose residence left the census.
+     */
+    public static final int VACANT_SLOT = -1;
+
+    /**
+     * Random stream used for energy demand.
+     */
+    public static final int DEMAND_STREAM = 0;
+
+    /**
+     * Random stream used for purchasing power.
+     */
+    public static final int PURCHASING_POWER_STREAM = 1;
+
+    private static final int INITIAL_SLOT_CAPACITY = 16;
+
+    // ========== Instance Variables ==========
+
+    /**
+     * Number of residences per level (index = level).
+     */
+    private int[] countByLevel;
+
+    /**
+     * Total number of residences registered.
+     */
+    private int totalCount;
+
+    /**
+     * Day the random values are drawn for.
+     */
+    private int day;
+
+    /**
+     * Seed shared by every residence of the city.
+     */
+    private long seed;
+
+    // Growth rates per level, defaults from Residence
+    private double demandGrowthRate;
+    private double purchasingPowerGrowthRate;
+
+    // Slots (index = slot)
+    private int[] slotLevels;
+    private long[] slotKeys;
+    private int slotCount;
+
+    // Vacant slots handed out again before new ones (stack)
+    private int[] freeSlots;
+    private int freeSlotCount;
+
+    // ========== Constructor ==========
+
+    public ResidenceCensus() {
+        this.countByLevel = new int[Residence.DEFAULT_MAX_LEVEL + 1];
+        this.totalCount = 0;
+        this.day = 1;
+        this.seed = 0L;
+        this.demandGrowthRate = Residence.DEMAND_GROWTH_RATE;
+        this.purchasingPowerGrowthRate = Residence.PURCHASING_POWER_GROWTH_RATE;
+        this.slotLevels = new int[INITIAL_SLOT_CAPACITY];
+        this.slotKeys = new long[INITIAL_SLOT_CAPACITY];
+        this.slotCount = 0;
+        this.freeSlots = new int[INITIAL_SLOT_CAPACITY];
+        this.freeSlotCount = 0;
+    }
+
+    // ========== Getters ==========
+
+    public int getDay() {
+        return day;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getDemandGrowthRate() {
+        return demandGrowthRate;
+    }
+
+    public double getPurchasingPowerGrowthRate() {
+        return purchasingPowerGrowthRate;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return Highest level that can hold residences in this census
+     */
+    public int getMaxLevel() {
+        return countByLevel.length - 1;
+    }
+
+    /**
+     * @param level Residence level
+     * @return Number of residences currently at this level
+     */
+    public int getCount(int level) {
+        if (level < 0 || level >= countByLevel.length) {
+            return 0;
+        }
+        return countByLevel[level];
+    }
+
+    /**
+     * Vacant slots are reused before new ones are handed out, so this never
+     * exceeds the largest number of residences registered at once.
+     *
+     * @return Number of slots handed out, vacant ones included
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * @param slot Slot index
+     * @return Level of the residence in this slot, or {@link #VACANT_SLOT}
+     */
+    public int getSlotLevel(int slot) {
+        return slotLevels[slot];
+    }
+
+    /**
+     * @param slot Slot index
+     * @return Id key of the residence in this slot
+     */
+    public long getSlotKey(int slot) {
+        return slotKeys[slot];
+    }
+
+    // ========== Setters ==========
+
+    /**
+     * Moves every residence to the given day.
+     * Residences compute that day's values on their next read.
+     */
+    public void setDay(int day) {
+        this.day = day;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Overrides {@link Residence#DEMAND_GROWTH_RATE} for this city.
+     * Takes effect on the next day.
+     */
+    public void setDemandGrowthRate(double demandGrowthRate) {
+        this.demandGrowthRate = demandGrowthRate;
+    }
+
+    /**
+     * Overrides {@link Residence#PURCHASING_POWER_GROWTH_RATE} for this city.
+     * Takes effect on the next day.
+     */
+    public void setPurchasingPowerGrowthRate(double purchasingPowerGrowthRate) {
+        this.purchasingPowerGrowthRate = purchasingPowerGrowthRate;
+    }
+
+    // ========== Fluctuation Methods ==========
+
+    /**
+     * Uniform value in [0, 1) fully determined by its arguments.
+     *
+     * @param seed   City seed
+     * @param key    Residence id key (see {@link #keyOf(String)})
+     * @param day    Simulation day
+     * @param stream Which random value of the residence
+     * @return Reproducible value in [0, 1)
+     */
+    public static double uniform(long seed, long key, int day, int stream) {
+        return (mix(seed, key, day, stream) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * SplitMix64 finalizer over the combined arguments.
+     *
+     * @return 64 well-mixed bits fully determined by the arguments
+     */
+    public static long mix(long seed, long key, int day, int stream) {
+        long z = seed + key * 0x9E3779B97F4A7C15L + day * 0xC2B2AE3D27D4EB4FL + stream * 0x165667B19E3779F9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a residence id.
+     *
+     * @param id Residence id
+     * @return Key used to derive the residence's random values
+     */
+    public static long keyOf(String id) {
+        long hash = 0xCBF29CE484222325L;
+        if (id == null) {
+            return hash;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // ========== Registration Methods ==========
+
+    int register(int level, long key) {
+        ensureLevel(level);
+        countByLevel[level]++;
+        totalCount++;
+
+        if (freeSlotCount > 0) {
+            int slot = freeSlots[--freeSlotCount];
+            slotLevels[slot] = level;
+            slotKeys[slot] = key;
+            return slot;
+        }
+        if (slotCount == slotLevels.length) {
+            int capacity = slotLevels.length * 2;
+            slotLevels = Arrays.copyOf(slotLevels, capacity);
+            slotKeys = Arrays.copyOf(slotKeys, capacity);
+        }
+        slotLevels[slotCount] = level;
+        slotKeys[slotCount] = key;
+        return slotCount++;
+    }
+
+    /**
+     * Presizes the slot arrays for bulk registration.
+     * 
+     * @param additional Number of residences about to be registered
+     */
+    void ensureSlotCapacity(int additional) {
+        if (additional < 0) {
+            throw new IllegalArgumentException("Additional residences cannot be negative: " + additional);
+        }
+        int needed = slotCount + Math.max(0, additional - freeSlotCount);
+        if (needed < 0) {
+            throw new IllegalArgumentException("Too many residences: " + slotCount + " + " + additional);
+        }
+        if (needed > slotLevels.length) {
+            slotLevels = Arrays.copyOf(slotLevels, needed);
+            slotKeys = Arrays.copyOf(slotKeys, needed);
+        }
+    }
+
+    void unregister(int slot) {
+        countByLevel[slotLevels[slot]]--;
+        totalCount--;
+        slotLevels[slot] = VACANT_SLOT;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    void changeLevel(int slot, int newLevel) {
+        ensureLevel(newLevel);
+        countByLevel[slotLevels[slot]]--;
+        countByLevel[newLevel]++;
+        slotLevels[slot] = newLevel;
+    }
+
+    void changeKey(int slot, long key) {
+        slotKeys[slot] = key;
+    }
+
+    void clear() {
+        Arrays.fill(countByLevel, 0);
+        totalCount = 0;
+        slotCount = 0;
+        freeSlotCount = 0;
+    }
+
+    private void ensureLevel(int level) {
+        if (level < 0) {
+            throw new IllegalArgumentException("Residence level cannot be negative: " + level);
+        }
+        if (level >= countByLevel.length) {
+            countByLevel = Arrays.copyOf(countByLevel, level + 1);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package model.history;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import model.entite.City;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+
+/**
+ * Undo, redo and branching history of a city.
+ * Each commit records the city as a new {@link CityVersion}; buildings are
+ * compared to the current version and only those that changed get a new
+ * snapshot, every other one is shared. Restoring a version rewinds the live
+ * city in place, setting only the fields that differ.
+ * Buildings are removed, replaced and added through the {@link City}
+ * methods, so synchronization and the simulator's outage scheduler see the
+ * change; existing objects are kept and rewound whenever possible.
+ * The ledger is a record of what happened and is never rewound.
+ */
+public class CityHistory {
+
+    // ========== Class Variables (Static) ==========
+
+    /**
+     * Number of versions kept by default. Older ones are forgotten.
+     */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    // ========== Instance Variables ==========
+
+    private final City city;
+    private final int capacity;
+    private final ArrayDeque<CityVersion> versions; // Creation order
+    private CityVersion current;
+    private int nextNumber;
+
+    // ========== Constructor ==========
+
+    /**
+     * Starts the history of a city from its current state.
+     *
+     * @param city Live city
+     */
+    public CityHistory(City city) {
+        this(city, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Starts the history of a city from its current state.
+     *
+     * @param city     Live city
+     * @param capacity Maximum number of versions kept
+     */
+    public CityHistory(City city, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.city = city;
+        this.capacity = capacity;
+        this.versions = new ArrayDeque<>();
+        this.current = new CityVersion(nextNumber++, "initial", city, null,
+                capture(PersistentVector.empty(), city.getPowerPlants(), PlantSnapshot::matches, PlantSnapshot::new),
+                capture(PersistentVector.empty(), city.getResidences(), ResidenceSnapshot::matches,
+                        ResidenceSnapshot::new));
+        this.versions.add(current);
+    }
+
+    // ========== Getters ==========
+
+    public City getCity() {
+        return city;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Version the city was last committed as or restored to
+     */
+    public CityVersion getCurrent() {
+        return current;
+    }
+
+    public int getVersionCount() {
+        return versions.size();
+    }
+
+    public boolean canUndo() {
+        return current.getParent() != null;
+    }
+
+    public boolean canRedo() {
+        return !current.getChildren().isEmpty();
+    }
+
+    // ========== History Methods ==========
+
+    /**
+     * Records the city as a new version following the current one.
+     * If the current version is not the latest of its branch, a new branch
+     * is started. Nothing is recorded if the city did not change.
+     *
+     * @param label Description of the action, e.g. "build coal"
+     * @return The new current version
+     */
+    public CityVersion commit(String label) {
+        PersistentVector<PlantSnapshot> plants = capture(current.getPlants(), city.getPowerPlants(),
+                PlantSnapshot::matches, PlantSnapshot::new);
+        PersistentVector<ResidenceSnapshot> residences = capture(current.getResidences(), city.getResidences(),
+                ResidenceSnapshot::matches, ResidenceSnapshot::new);
+        if (plants == current.getPlants() && residences == current.getResidences()
+                && current.matchesScalars(city)) {
+            return current;
+        }
+
+        CityVersion version = new CityVersion(nextNumber++, label, city, current, plants, residences);
+        current.addChild(version);
+        current = version;
+        versions.add(version);
+        if (versions.size() > capacity) {
+            evictOldest();
+        }
+        return version;
+    }
+
+    /**
+     * Rewinds the city to the previous version.
+     *
+     * @return The version restored, or null if there is none
+     */
+    public CityVersion undo() {
+        if (!canUndo()) {
+            return null;
+        }
+        checkout(current.getParent());
+        return current;
+    }
+
+    /**
+     * Moves the city forward to the latest branch of the current version.
+     *
+     * @return The version restored, or null if there is none
+     */
+    public CityVersion redo() {
+        if (!canRedo()) {
+            return null;
+        }
+        List<CityVersion> children = current.getChildren();
+        checkout(children.get(children.size() - 1));
+        return current;
+    }
+
+    /**
+     * Puts the city in the state of any kept version.
+     *
+     * @param version Version of this history
+     */
+    public void checkout(CityVersion version) {
+        version.applyScalars(city);
+        restorePlants(version.getPlants());
+        restoreResidences(version.getResidences());
+        current = version;
+    }
+
+    // ========== Other Methods ==========
+
+    /**
+     * Builds the snapshot vector of a building list from the previous one,
+     * replacing only the snapshots that no longer match.
+     *
+     * @return The previous vector itself if nothing changed
+     */
+    private static <B, S> PersistentVector<S> capture(PersistentVector<S> previous, List<B> buildings,
+            BiPredicate<S, B> matches, Function<B, S> snapshot) {
+        PersistentVector<S> result = previous;
+        while (result.size() > buildings.size()) {
+            result = result.removeLast();
+        }
+        int index = 0;
+        for (S kept : previous) {
+            if (index == result.size()) {
+                break;
+            }
+            B building = buildings.get(index);
+            if (!matches.test(kept, building)) {
+                result = result.set(index, snapshot.apply(building));
+            }
+            index++;
+        }
+        for (; index < buildings.size(); index++) {
+            result = result.append(snapshot.apply(buildings.get(index)));
+        }
+        return result;
+    }
+
+    private void restorePlants(PersistentVector<PlantSnapshot> snapshots) {
+        List<PowerPlant> plants = city.getPowerPlants();
+        while (plants.size() > snapshots.size()) {
+            city.removePowerPlant(plants.size() - 1);
+        }
+        int index = 0;
+        for (PlantSnapshot snapshot : snapshots) {
+            if (index < plants.size()) {
+                PowerPlant plant = plants.get(index);
+                if (snapshot.getType() != plant.getType()) {
+                    city.replacePowerPlant(index, snapshot.restore());
+                } else if (!snapshot.matches(plant)) {
+                    snapshot.applyTo(plant);
+                }
+            } else {
+                city.addPowerPlant(snapshot.restore());
+            }
+            index++;
+        }
+    }
+
+    private void restoreResidences(PersistentVector<ResidenceSnapshot> snapshots) {
+        List<Residence> residences = city.getResidences();
+        while (residences.size() > snapshots.size()) {
+            city.removeResidence(residences.size() - 1);
+        }
+        int index = 0;
+        for (ResidenceSnapshot snapshot : snapshots) {
+            if (index < residences.size()) {
+                Residence residence = residences.get(index);
+                if (!snapshot.matches(residence)) {
+                    snapshot.applyTo(residence);
+                }
+            } else {
+                city.addResidence(snapshot.restore());
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Forgets the oldest version other than the current one.
+     * Its children become the oldest versions of their branches.
+     */
+    private void evictOldest() {
+        Iterator<CityVersion> iterator = versions.iterator();
+        CityVersion oldest = iterator.next();
+        if (oldest == current) {
+            oldest = iterator.next();
+        }
+        iterator.remove();
+        for (CityVersion child : oldest.getChildren()) {
+            child.setParent(null);
+        }
+        if (oldest.getParent() != null) {
+            oldest.getParent().removeChild(oldest);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package model.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import model.entite.City;
+
+/**
+ * Immutable state of a city at a point in its history.
+ * Versions form a tree: undoing then acting again starts a new branch.
+ * Building states are kept in persistent vectors shared with the
+ * neighbouring versions, so a version only owns what changed.
+ */
+public final class CityVersion {
+
+    // ========== Instance Variables ==========
+
+    private final int number;
+    private final String label;
+
+    // City scalars
+    private final String name;
+    private final int currentDay;
+    private final double totalCoins;
+    private final double electricityPrice;
+    private final double globalHappiness;
+    private final int totalPopulation;
+    private final double totalPollution;
+    private final double totalEnergyAvailable;
+    private final double totalStorageCapacity;
+    private final double totalEnergyDemand;
+    private final double avgPurchasingPower;
+
+    // Buildings
+    private final PersistentVector<PlantSnapshot> plants;
+    private final PersistentVector<ResidenceSnapshot> residences;
+
+    // Tree links, maintained by CityHistory
+    private CityVersion parent;
+    private final List<CityVersion> children;
+
+    // ========== Constructor ==========
+
+    CityVersion(int number, String label, City city, CityVersion parent,
+            PersistentVector<PlantSnapshot> plants, PersistentVector<ResidenceSnapshot> residences) {
+        this.number = number;
+        this.label = label;
+        this.name = city.getName();
+        this.currentDay = city.getCurrentDay();
+        this.totalCoins = city.getTotalCoins();
+        this.electricityPrice = city.getElectricityPrice();
+        this.globalHappiness = city.getGlobalHappiness();
+        this.totalPopulation = city.getTotalPopulation();
+        this.totalPollution = city.getTotalPollution();
+        this.totalEnergyAvailable = city.getTotalEnergyAvailable();
+        this.totalStorageCapacity = city.getTotalStorageCapacity();
+        this.totalEnergyDemand = city.getTotalEnergyDemand();
+        this.avgPurchasingPower = city.getAvgPurchasingPower();
+        this.plants = plants;
+        this.residences = residences;
+        this.parent = parent;
+        this.children = new ArrayList<>(1);
+    }
+
+    // ========== Getters ==========
+
+    /**
+     * @return Creation order of this version in its history
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getCurrentDay() {
+        return currentDay;
+    }
+
+    public double getTotalCoins() {
+        return totalCoins;
+    }
+
+    public double getElectricityPrice() {
+        return electricityPrice;
+    }
+
+    public PersistentVector<PlantSnapshot> getPlants() {
+        return plants;
+    }
+
+    public PersistentVector<ResidenceSnapshot> getResidences() {
+        return residences;
+    }
+
+    /**
+     * @return Previous version, or null for the oldest kept version
+     */
+    public CityVersion getParent() {
+        return parent;
+    }
+
+    /**
+     * @return Versions created from this one, oldest first
+     */
+    public List<CityVersion> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    // ========== Other Methods ==========
+
+    /**
+     * @param city Live city
+     * @return true if the city scalars are still those of this version
+     */
+    boolean matchesScalars(City city) {
+        return currentDay == city.getCurrentDay()
+                && totalCoins == city.getTotalCoins()
+                && electricityPrice == city.getElectricityPrice()
+                && globalHappiness == city.getGlobalHappiness()
+                && totalPopulation == city.getTotalPopulation()
+                && totalPollution == city.getTotalPollution()
+                && totalEnergyAvailable == city.getTotalEnergyAvailable()
+                && totalStorageCapacity == city.getTotalStorageCapacity()
+                && totalEnergyDemand == city.getTotalEnergyDemand()
+                && avgPurchasingPower == city.getAvgPurchasingPower()
+                && Objects.equals(name, city.getName());
+    }
+
+    /**
+     * Puts the city scalars back to this version. Only the scalars that
+     * differ are set, so unchanged ones stay clean in the city's dirty mask.
+     */
+    void applyScalars(City city) {
+        if (!Objects.equals(name, city.getName())) {
+            city.setName(name);
+        }
+        if (currentDay != city.getCurrentDay()) {
+            city.setCurrentDay(currentDay);
+        }
+        if (totalCoins != city.getTotalCoins()) {
+            city.setTotalCoins(totalCoins);
+        }
+        if (electricityPrice != city.getElectricityPrice()) {
+            city.setElectricityPrice(electricityPrice);
+        }
+        if (globalHappiness != city.getGlobalHappiness()) {
+            city.setGlobalHappiness(globalHappiness);
+        }
+        if (totalPopulation != city.getTotalPopulation()) {
+            city.setTotalPopulation(totalPopulation);
+        }
+        if (totalPollution != city.getTotalPollution()) {
+            city.setTotalPollution(totalPollution);
+        }
+        if (totalEnergyAvailable != city.getTotalEnergyAvailable()) {
+            city.setTotalEnergyAvailable(totalEnergyAvailable);
+        }
+        if (totalStorageCapacity != city.getTotalStorageCapacity()) {
+            city.setTotalStorageCapacity(totalStorageCapacity);
+        }
+        if (totalEnergyDemand != city.getTotalEnergyDemand()) {
+            city.setTotalEnergyDemand(totalEnergyDemand);
+        }
+        if (avgPurchasingPower != city.getAvgPurchasingPower()) {
+            city.setAvgPurchasingPower(avgPurchasingPower);
+        }
+    }
+
+    void setParent(CityVersion parent) {
+        this.parent = parent;
+    }
+
+    void addChild(CityVersion child) {
+        children.add(child);
+    }
+
+    void removeChild(CityVersion child) {
+        children.remove(child);
+    }
+
+    // ========== Standard Methods ==========
+
+    @Override
+    public String toString() {
+        return "CityVersion{" +
+                "number=" + number +
+                ", label='" + label + '\'' +
+                ", currentDay=" + currentDay +
+                ", plants=" + plants.size() +
+                ", residences=" + residences.size() +
+                '}';
+    }
+}
@@ -0,0 +1,184 @@
+package model.history;
+
+import java.util.Objects;
+
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+
+/**
+ * Immutable copy of the state of a power plant at a point in history.
+ */
+public final class PlantSnapshot {
+
+    // ========== Instance Variables ==========
+
+    private final PlantType type;
+    private final String id;
+    private final int level;
+    private final int maxLevel;
+    private final int x;
+    private final int y;
+    private final PlantStatus status;
+    private final double powerOutput;
+    private final double storageCapacity;
+    private final double currentEnergyStored;
+    private final double dailyCost;
+    private final double pollutionRate;
+    private final double upgradeCost;
+    private final int upgradeTime;
+    private final int remainingTime;
+
+    // ========== Constructor ==========
+
+    /**
+     * Captures the current state of a plant.
+     * 
+     * @param plant Plant to copy
+     */
+    public PlantSnapshot(PowerPlant plant) {
+        this.type = plant.getType();
+        this.id = plant.getId();
+        this.level = plant.getLevel();
+        this.maxLevel = plant.getMaxLevel();
+        this.x = plant.getX();
+        this.y = plant.getY();
+        this.status = plant.getStatus();
+        this.powerOutput = plant.getPowerOutput();
+        this.storageCapacity = plant.getStorageCapacity();
+        this.currentEnergyStored = plant.getCurrentEnergyStored();
+        this.dailyCost = plant.getDailyCost();
+        this.pollutionRate = plant.getPollutionRate();
+        this.upgradeCost = plant.getUpgradeCost();
+        this.upgradeTime = plant.getUpgradeTime();
+        this.remainingTime = plant.getRemainingTime();
+    }
+
+    // ========== Getters ==========
+
+    public PlantType getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public PlantStatus getStatus() {
+        return status;
+    }
+
+    public double getCurrentEnergyStored() {
+        return currentEnergyStored;
+    }
+
+    public int getRemainingTime() {
+        return remainingTime;
+    }
+
+    // ========== Other Methods ==========
+
+    /**
+     * @param plant Live plant
+     * @return true if the plant is still in the captured state
+     */
+    public boolean matches(PowerPlant plant) {
+        return type == plant.getType()
+                && level == plant.getLevel()
+                && status == plant.getStatus()
+                && currentEnergyStored == plant.getCurrentEnergyStored()
+                && remainingTime == plant.getRemainingTime()
+                && x == plant.getX()
+                && y == plant.getY()
+                && maxLevel == plant.getMaxLevel()
+                && powerOutput == plant.getPowerOutput()
+                && storageCapacity == plant.getStorageCapacity()
+                && dailyCost == plant.getDailyCost()
+                && pollutionRate == plant.getPollutionRate()
+                && upgradeCost == plant.getUpgradeCost()
+                && upgradeTime == plant.getUpgradeTime()
+                && Objects.equals(id, plant.getId());
+    }
+
+    /**
+     * Puts a plant of the same type back in the captured state.
+     * Only the fields that differ are set, so only they are flagged dirty.
+     * 
+     * @param plant Plant to rewind
+     */
+    public void applyTo(PowerPlant plant) {
+        if (plant.getType() != type) {
+            throw new IllegalArgumentException("Cannot apply a " + type + " snapshot to a " + plant.getType());
+        }
+        if (!Objects.equals(id, plant.getId())) {
+            plant.setId(id);
+        }
+        if (level != plant.getLevel()) {
+            plant.setLevel(level);
+        }
+        if (maxLevel != plant.getMaxLevel()) {
+            plant.setMaxLevel(maxLevel);
+        }
+        if (x != plant.getX()) {
+            plant.setX(x);
+        }
+        if (y != plant.getY()) {
+            plant.setY(y);
+        }
+        if (status != plant.getStatus()) {
+            plant.setStatus(status);
+        }
+        if (powerOutput != plant.getPowerOutput()) {
+            plant.setPowerOutput(powerOutput);
+        }
+        if (storageCapacity != plant.getStorageCapacity()) {
+            plant.setStorageCapacity(storageCapacity);
+        }
+        if (currentEnergyStored != plant.getCurrentEnergyStored()) {
+            plant.setCurrentEnergyStored(currentEnergyStored);
+        }
+        if (dailyCost != plant.getDailyCost()) {
+            plant.setDailyCost(dailyCost);
+        }
+        if (pollutionRate != plant.getPollutionRate()) {
+            plant.setPollutionRate(pollutionRate);
+        }
+        if (upgradeCost != plant.getUpgradeCost()) {
+            plant.setUpgradeCost(upgradeCost);
+        }
+        if (upgradeTime != plant.getUpgradeTime()) {
+            plant.setUpgradeTime(upgradeTime);
+        }
+        if (remainingTime != plant.getRemainingTime()) {
+            plant.setRemainingTime(remainingTime);
+        }
+    }
+
+    /**
+     * Only the fields that differ from the type defaults are flagged dirty;
+     * synchronization sends new and replaced plants whole.
+     * 
+     * @return A new plant in the captured state
+     */
+    public PowerPlant restore() {
+        PowerPlant plant = type.create(id);
+        applyTo(plant);
+        return plant;
+    }
+
+    // ========== Standard Methods ==========
+
+    @Override
+    public String toString() {
+        return "PlantSnapshot{" +
+                "type=" + type +
+                ", id='" + id + '\'' +
+                ", level=" + level +
+                ", status=" + status +
+                '}';
+    }
+}
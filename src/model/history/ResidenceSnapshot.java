@@ -0,0 +1,126 @@
+package model.history;
+
+import java.util.Objects;
+
+import model.entite.Residence;
+
+/**
+ * Immutable copy of the state of a residence at a point in history.
+ * Daily demand and purchasing power are not kept: they derive from the
+ * city seed, the residence id and the day, all of which are restored.
+ */
+public final class ResidenceSnapshot {
+
+    // ========== Instance Variables ==========
+
+    private final String id;
+    private final int level;
+    private final int maxLevel;
+    private final int x;
+    private final int y;
+    private final int maxCapacity;
+    private final int currentOccupancy;
+    private final boolean supplied;
+
+    // ========== Constructor ==========
+
+    /**
+     * Captures the current state of a residence.
+     * 
+     * @param residence Residence to copy
+     */
+    public ResidenceSnapshot(Residence residence) {
+        this.id = residence.getId();
+        this.level = residence.getLevel();
+        this.maxLevel = residence.getMaxLevel();
+        this.x = residence.getX();
+        this.y = residence.getY();
+        this.maxCapacity = residence.getMaxCapacity();
+        this.currentOccupancy = residence.getCurrentOccupancy();
+        this.supplied = residence.isSupplied();
+    }
+
+    // ========== Getters ==========
+
+    public String getId() {
+        return id;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getCurrentOccupancy() {
+        return currentOccupancy;
+    }
+
+    // ========== Other Methods ==========
+
+    /**
+     * @param residence Live residence
+     * @return true if the residence is still in the captured state
+     */
+    public boolean matches(Residence residence) {
+        return level == residence.getLevel()
+                && currentOccupancy == residence.getCurrentOccupancy()
+                && supplied == residence.isSupplied()
+                && maxCapacity == residence.getMaxCapacity()
+                && x == residence.getX()
+                && y == residence.getY()
+                && maxLevel == residence.getMaxLevel()
+                && Objects.equals(id, residence.getId());
+    }
+
+    /**
+     * Puts a residence back in the captured state.
+     * Only the fields that differ are set, so only they are flagged dirty.
+     * 
+     * @param residence Residence to rewind
+     */
+    public void applyTo(Residence residence) {
+        if (!Objects.equals(id, residence.getId())) {
+            residence.setId(id);
+        }
+        if (level != residence.getLevel()) {
+            residence.setLevel(level);
+        }
+        if (maxLevel != residence.getMaxLevel()) {
+            residence.setMaxLevel(maxLevel);
+        }
+        if (x != residence.getX()) {
+            residence.setX(x);
+        }
+        if (y != residence.getY()) {
+            residence.setY(y);
+        }
+        if (maxCapacity != residence.getMaxCapacity()) {
+            residence.setMaxCapacity(maxCapacity);
+        }
+        if (currentOccupancy != residence.getCurrentOccupancy()) {
+            residence.setCurrentOccupancy(currentOccupancy);
+        }
+        if (supplied != residence.isSupplied()) {
+            residence.setSupplied(supplied);
+        }
+    }
+
+    /**
+     * @return A new residence in the captured state
+     */
+    public Residence restore() {
+        Residence residence = new Residence(id);
+        applyTo(residence);
+        return residence;
+    }
+
+    // ========== Standard Methods ==========
+
+    @Override
+    public String toString() {
+        return "ResidenceSnapshot{" +
+                "id='" + id + '\'' +
+                ", level=" + level +
+                ", currentOccupancy=" + currentOccupancy +
+                '}';
+    }
+}
@@ -0,0 +1,111 @@
+package model.simulation;
+
+import model.entite.City;
+import model.entite.Residence;
+import model.entite.ResidenceCensus;
+
+/**
+ * Approximate city-wide demand update for very large residence counts.
+ * Residences are grouped by level and each bucket total is sampled directly
+ * from the distribution of a sum of uniforms, so an update costs O(levels)
+ * instead of O(residences).
+ * Every draw is derived from (seed, bucket, day) with
+ * {@link ResidenceCensus#uniform(long, long, int, int)}, like the values of
+ * the residences themselves, so samples are reproducible and cost no
+ * allocation.
+ * <p>
+ * {@link DailyDemandPass} is authoritative: its totals are the sums of the
+ * values residences report. This sampler only draws totals with the same
+ * distribution, for statistics over cities too large to scan; its totals do
+ * not match the residences, so a simulation should use one or the other.
+ */
+public class AggregateDemandSampler {
+
+    // ========== Class Variables (Static) ==========
+
+    /**
+     * Up to this many residences, a bucket is summed draw by draw.
+     * Beyond it the normal approximation of the Irwin-Hall sum is used.
+     */
+    public static final int EXACT_SUM_THRESHOLD = 30;
+
+    // Random streams reserved for bucket sampling (residences use 0 and 1)
+    private static final int DEMAND_SAMPLE_STREAM = 2;
+    private static final int PURCHASING_POWER_SAMPLE_STREAM = 3;
+
+    // ========== Sampling Methods ==========
+
+    /**
+     * Samples the city totals of the current day.
+     * Updates {@code totalEnergyDemand} and {@code avgPurchasingPower}.
+     *
+     * @param city City to update
+     */
+    public void update(City city) {
+        ResidenceCensus census = city.getResidenceCensus();
+        long seed = census.getSeed();
+        int day = census.getDay();
+
+        double totalDemand = 0.0;
+        double totalPurchasingPower = 0.0;
+        double demandGrowthRate = census.getDemandGrowthRate();
+        double purchasingPowerGrowthRate = census.getPurchasingPowerGrowthRate();
+        for (int level = 0; level <= census.getMaxLevel(); level++) {
+            int count = census.getCount(level);
+            if (count == 0) {
+                continue;
+            }
+            totalDemand += sampleUniformSum(seed, level, day, DEMAND_SAMPLE_STREAM, count,
+                    Residence.computeEnergyDemandMin(level, demandGrowthRate),
+                    Residence.computeEnergyDemandMax(level, demandGrowthRate));
+            totalPurchasingPower += sampleUniformSum(seed, level, day, PURCHASING_POWER_SAMPLE_STREAM, count,
+                    Residence.computePurchasingPowerMin(level, purchasingPowerGrowthRate),
+                    Residence.computePurchasingPowerMax(level, purchasingPowerGrowthRate));
+        }
+
+        int total = census.getTotalCount();
+        city.setTotalEnergyDemand(totalDemand);
+        city.setAvgPurchasingPower(total == 0 ? 0.0 : totalPurchasingPower / total);
+    }
+
+    /**
+     * Samples the sum of {@code count} independent uniforms on [min, max].
+     *
+     * @param seed   City seed
+     * @param level  Level of the bucket
+     * @param day    Simulation day
+     * @param stream Which total of the bucket
+     * @param count  Number of uniforms summed
+     * @param min    Lower bound of each uniform
+     * @param max    Upper bound of each uniform
+     * @return Sampled sum, always within [count * min, count * max]
+     */
+    static double sampleUniformSum(long seed, int level, int day, int stream, int count, double min, double max) {
+        double width = max - min;
+        if (count <= EXACT_SUM_THRESHOLD) {
+            double sum = 0.0;
+            for (int i = 0; i < count; i++) {
+                sum += ResidenceCensus.uniform(seed, drawKey(level, i), day, stream);
+            }
+            return count * min + width * sum;
+        }
+
+        // Irwin-Hall: mean n/2, variance n/12, Gaussian by Box-Muller
+        double u1 = ResidenceCensus.uniform(seed, drawKey(level, 0), day, stream);
+        double u2 = ResidenceCensus.uniform(seed, drawKey(level, 1), day, stream);
+        double gaussian = Math.sqrt(-2.0 * Math.log(1.0 - u1)) * Math.cos(2.0 * Math.PI * u2);
+        double mean = count * 0.5;
+        double stdDev = Math.sqrt(count / 12.0);
+        double sum = mean + stdDev * gaussian;
+        sum = Math.max(0.0, Math.min(count, sum));
+        return count * min + width * sum;
+    }
+
+    /**
+     * @return Key of the n-th draw of a bucket: level in the high bits,
+     *         draw index in the low bits
+     */
+    private static long drawKey(int level, int draw) {
+        return ((long) level << 32) | draw;
+    }
+}
@@ -0,0 +1,127 @@
+package model.simulation;
+
+import model.entite.PlantType;
+
+/**
+ * Forecast of the supply margin of a city a few days ahead, with the
+ * cheapest construction that would cover a shortfall.
+ * Acts as a data container filled by {@link CapacityAdvisor}.
+ */
+public class CapacityAdvice {
+
+    private int day;
+    private int horizon;
+    private double forecastDemand;
+    private double projectedSupply;
+    private PlantType recommendedType; // null when no construction is needed
+    private int recommendedCount;
+    private double recommendedCost;
+    private boolean readyInTime;
+
+    // ========== Getters ==========
+
+    /**
+     * @return Day the advice was given
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * @return Number of days ahead the forecast looks
+     */
+    public int getHorizon() {
+        return horizon;
+    }
+
+    public double getForecastDemand() {
+        return forecastDemand;
+    }
+
+    public double getProjectedSupply() {
+        return projectedSupply;
+    }
+
+    /**
+     * @return Demand the projected supply fails to cover, 0 if none
+     */
+    public double getGap() {
+        return Math.max(0.0, forecastDemand - projectedSupply);
+    }
+
+    /**
+     * @return true if the forecast demand exceeds the projected supply
+     */
+    public boolean isBlackoutExpected() {
+        return forecastDemand > projectedSupply;
+    }
+
+    public PlantType getRecommendedType() {
+        return recommendedType;
+    }
+
+    public int getRecommendedCount() {
+        return recommendedCount;
+    }
+
+    public double getRecommendedCost() {
+        return recommendedCost;
+    }
+
+    /**
+     * @return true if the recommended plants are built within the horizon
+     */
+    public boolean isReadyInTime() {
+        return readyInTime;
+    }
+
+    // ========== Setters ==========
+
+    public void setDay(int day) {
+        this.day = day;
+    }
+
+    public void setHorizon(int horizon) {
+        this.horizon = horizon;
+    }
+
+    public void setForecastDemand(double forecastDemand) {
+        this.forecastDemand = forecastDemand;
+    }
+
+    public void setProjectedSupply(double projectedSupply) {
+        this.projectedSupply = projectedSupply;
+    }
+
+    public void setRecommendedType(PlantType recommendedType) {
+        this.recommendedType = recommendedType;
+    }
+
+    public void setRecommendedCount(int recommendedCount) {
+        this.recommendedCount = recommendedCount;
+    }
+
+    public void setRecommendedCost(double recommendedCost) {
+        this.recommendedCost = recommendedCost;
+    }
+
+    public void setReadyInTime(boolean readyInTime) {
+        this.readyInTime = readyInTime;
+    }
+
+    // ========== Standard Methods ==========
+
+    @Override
+    public String toString() {
+        return "CapacityAdvice{" +
+                "day=" + day +
+                ", horizon=" + horizon +
+                ", forecastDemand=" + forecastDemand +
+                ", projectedSupply=" + projectedSupply +
+                ", recommendedType=" + recommendedType +
+                ", recommendedCount=" + recommendedCount +
+                ", recommendedCost=" + recommendedCost +
+                ", readyInTime=" + readyInTime +
+                '}';
+    }
+}
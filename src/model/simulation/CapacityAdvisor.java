@@ -0,0 +1,175 @@
+package model.simulation;
+
+import model.entite.City;
+import model.entite.PlantParameters;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+
+/**
+ * Early blackout warning for one city.
+ * Compares the forecast demand a few days ahead with the supply the city
+ * will have by then: active plants and their stored energy, plus plants
+ * whose construction, upgrade or repair ends within the horizon. When
+ * supply falls short, recommends the cheapest number of plants of a single
+ * type that covers the gap, preferring types that can be built in time.
+ * Costs O(plants + plant types + residence levels) per day and keeps
+ * O(residence levels) forecast state.
+ */
+public class CapacityAdvisor {
+
+    // ========== Class Variables (Static) ==========
+
+    public static final int DEFAULT_HORIZON = 7; // days
+
+    private static final PlantType[] PLANT_TYPES = PlantType.values();
+
+    // ========== Instance Variables ==========
+
+    private final SimulationParameters parameters;
+    private final DemandForecaster forecaster;
+    private final int horizon;
+
+    // ========== Constructor ==========
+
+    public CapacityAdvisor(SimulationParameters parameters) {
+        this(parameters, new DemandForecaster(), DEFAULT_HORIZON);
+    }
+
+    /**
+     * @param parameters Source of the plant outputs and construction costs
+     * @param forecaster Demand forecast of the city
+     * @param horizon    Number of days ahead to look
+     */
+    public CapacityAdvisor(SimulationParameters parameters, DemandForecaster forecaster, int horizon) {
+        if (horizon < 1) {
+            throw new IllegalArgumentException("Horizon must be at least one day");
+        }
+        this.parameters = parameters;
+        this.forecaster = forecaster;
+        this.horizon = horizon;
+    }
+
+    // ========== Getters ==========
+
+    public DemandForecaster getForecaster() {
+        return forecaster;
+    }
+
+    public int getHorizon() {
+        return horizon;
+    }
+
+    // ========== Advice Methods ==========
+
+    /**
+     * Adds a simulated day to the forecast.
+     *
+     * @param city   City simulated, read for its residence levels
+     * @param demand Energy demand of the day (MWh)
+     */
+    public void observe(City city, double demand) {
+        forecaster.observe(city.getResidenceCensus(), demand);
+    }
+
+    /**
+     * Forecasts the supply margin at the end of the horizon.
+     * Failed plants are not counted back.
+     *
+     * @param city City whose plants are counted
+     * @return Forecast and, if supply falls short, the cheapest fix
+     */
+    public CapacityAdvice advise(City city) {
+        return advise(city, null);
+    }
+
+    /**
+     * Forecasts the supply margin at the end of the horizon.
+     *
+     * @param city            City whose plants are counted
+     * @param outageScheduler Scheduler of the city, telling when failed
+     *                        plants are repaired, or null
+     * @return Forecast and, if supply falls short, the cheapest fix
+     */
+    public CapacityAdvice advise(City city, OutageScheduler outageScheduler) {
+        CapacityAdvice advice = new CapacityAdvice();
+        advice.setDay(city.getCurrentDay());
+        advice.setHorizon(horizon);
+        advice.setForecastDemand(forecaster.forecast(horizon));
+        advice.setProjectedSupply(projectSupply(city, outageScheduler));
+
+        double gap = advice.getGap();
+        if (gap > 0.0) {
+            recommend(advice, gap);
+        }
+        return advice;
+    }
+
+    /**
+     * @return Production plus stored energy expected at the end of the horizon
+     */
+    private double projectSupply(City city, OutageScheduler outageScheduler) {
+        int lastDay = city.getCurrentDay() + horizon;
+        double supply = 0.0;
+        for (PowerPlant plant : city.getPowerPlants()) {
+            switch (plant.getStatus()) {
+                case ACTIVE:
+                    supply += plant.getPowerOutput() + plant.getCurrentEnergyStored();
+                    break;
+                case UNDER_CONSTRUCTION:
+                    if (plant.getRemainingTime() <= horizon) {
+                        supply += plant.getPowerOutput();
+                    }
+                    break;
+                case UPGRADING:
+                    if (plant.getRemainingTime() <= horizon) {
+                        supply += parameters.getPlantParameters(plant.getType())
+                                .computePowerOutput(plant.getLevel() + 1);
+                    }
+                    break;
+                case INACTIVE:
+                    // Failed plants come back with their stored energy
+                    int repairDay = outageScheduler != null ? outageScheduler.getRepairDay(plant) : -1;
+                    if (repairDay >= 0 && repairDay <= lastDay) {
+                        supply += plant.getPowerOutput() + plant.getCurrentEnergyStored();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return supply;
+    }
+
+    /**
+     * Picks the plant type whose construction covers the gap at the lowest
+     * cost, among the types ready in time if there are any.
+     */
+    private void recommend(CapacityAdvice advice, double gap) {
+        PlantType bestType = null;
+        int bestCount = 0;
+        double bestCost = Double.MAX_VALUE;
+        boolean bestInTime = false;
+        for (PlantType type : PLANT_TYPES) {
+            PlantParameters plantParameters = parameters.getPlantParameters(type);
+            double output = plantParameters.getPowerOutput();
+            if (output <= 0.0) {
+                continue; // Storage only
+            }
+            int count = (int) Math.ceil(gap / output);
+            double cost = count * plantParameters.getConstructionCost();
+            boolean inTime = plantParameters.getConstructionTime() <= horizon;
+            if ((inTime && !bestInTime) || (inTime == bestInTime && cost < bestCost)) {
+                bestType = type;
+                bestCount = count;
+                bestCost = cost;
+                bestInTime = inTime;
+            }
+        }
+        if (bestType != null) {
+            advice.setRecommendedType(bestType);
+            advice.setRecommendedCount(bestCount);
+            advice.setRecommendedCost(bestCost);
+            advice.setReadyInTime(bestInTime);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package model.simulation;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import model.entite.City;
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PollutionField;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+import model.entite.ResidenceCensus;
+
+/**
+ * Builds large seeded scenario cities.
+ * Residences are created in parallel into a presized array and added to
+ * the city in one bulk operation. Each residence's level and tile depend
+ * only on the seed and its index, so the output is identical whatever the
+ * number of threads.
+ * Buildings fill a square tile grid row by row, plants first.
+ */
+public class CityGenerator {
+
+    // ========== Class Variables (Static) ==========
+
+    public static final double DEFAULT_INITIAL_COINS = 10000.0;
+
+    /**
+     * Random stream used to pick residence levels.
+     */
+    private static final int LEVEL_STREAM = 3;
+
+    // ========== Instance Variables ==========
+
+    private final long seed;
+    private int residenceCount;
+    private double[] levelWeights; // index = level - 1
+    private final Map<PlantType, Integer> plantMix;
+    private SimulationParameters parameters;
+    private boolean parallel;
+    private boolean localPollution;
+
+    // ========== Constructor ==========
+
+    /**
+     * Creates a generator of empty level 1 cities.
+     * 
+     * @param seed Seed of the generated cities (also their census seed)
+     */
+    public CityGenerator(long seed) {
+        this.seed = seed;
+        this.residenceCount = 0;
+        this.levelWeights = new double[] { 1.0 };
+        this.plantMix = new EnumMap<>(PlantType.class);
+        this.parameters = new SimulationParameters("default");
+        this.parallel = true;
+        this.localPollution = false;
+    }
+
+    // ========== Getters ==========
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getResidenceCount() {
+        return residenceCount;
+    }
+
+    public int getPlantCount(PlantType type) {
+        return plantMix.getOrDefault(type, 0);
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public boolean isLocalPollution() {
+        return localPollution;
+    }
+
+    // ========== Setters ==========
+
+    public void setResidenceCount(int residenceCount) {
+        if (residenceCount < 0) {
+            throw new IllegalArgumentException("Residence count cannot be negative: " + residenceCount);
+        }
+        this.residenceCount = residenceCount;
+    }
+
+    /**
+     * Sets the relative frequency of each residence level.
+     * 
+     * @param levelWeights Weights of levels 1, 2, ... (need not sum to 1)
+     * @throws IllegalArgumentException if there are more weights than
+     *                                  {@link Residence#DEFAULT_MAX_LEVEL}
+     */
+    public void setLevelWeights(double... levelWeights) {
+        if (levelWeights.length > Residence.DEFAULT_MAX_LEVEL) {
+            throw new IllegalArgumentException("Residence levels stop at " + Residence.DEFAULT_MAX_LEVEL
+                    + ": " + levelWeights.length + " weights");
+        }
+        double total = 0.0;
+        for (double weight : levelWeights) {
+            if (weight < 0.0) {
+                throw new IllegalArgumentException("Level weights cannot be negative");
+            }
+            total += weight;
+        }
+        if (total <= 0.0) {
+            throw new IllegalArgumentException("At least one level weight must be positive");
+        }
+        this.levelWeights = levelWeights.clone();
+    }
+
+    public void setPlantCount(PlantType type, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Plant count cannot be negative: " + count);
+        }
+        plantMix.put(type, count);
+    }
+
+    /**
+     * @param parameters Parameters used to create the plants and configure
+     *                   the residences
+     */
+    public void setParameters(SimulationParameters parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * Disable when the generator already runs inside a worker pool.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Attaches a {@link PollutionField} covering the tile grid to the
+     * generated cities.
+     */
+    public void setLocalPollution(boolean localPollution) {
+        this.localPollution = localPollution;
+    }
+
+    // ========== Generation Methods ==========
+
+    /**
+     * Generates a city. Plants are created active and residences get ids
+     * {@code R0}, {@code R1}, ... The city and its buildings start with
+     * clean dirty masks.
+     * 
+     * @param name         Name of the city
+     * @param initialCoins Starting budget
+     * @return New city
+     */
+    public City generate(String name, double initialCoins) {
+        City city = new City(name, initialCoins);
+        ResidenceCensus census = city.getResidenceCensus();
+        census.setSeed(seed);
+        parameters.applyTo(census);
+
+        int plantCount = 0;
+        for (int count : plantMix.values()) {
+            plantCount += count;
+        }
+        final int plants = plantCount;
+        final int gridWidth = Math.max(1, (int) Math.ceil(Math.sqrt((double) plants + residenceCount)));
+        if (localPollution) {
+            int gridHeight = Math.max(1, (plants + residenceCount + gridWidth - 1) / gridWidth);
+            city.setPollutionField(new PollutionField(gridWidth, gridHeight));
+        }
+
+        for (PlantType type : PlantType.values()) {
+            int count = getPlantCount(type);
+            for (int i = 0; i < count; i++) {
+                PowerPlant plant = parameters.getPlantParameters(type).createPlant(city.nextPlantId(type));
+                plant.setStatus(PlantStatus.ACTIVE);
+                plant.setRemainingTime(0);
+                int tile = city.getPowerPlants().size();
+                plant.setLocation(tile % gridWidth, tile / gridWidth);
+                plant.clearDirtyFields();
+                city.addPowerPlant(plant);
+            }
+        }
+
+        double[] cumulative = new double[levelWeights.length];
+        double total = 0.0;
+        for (int i = 0; i < levelWeights.length; i++) {
+            total += levelWeights[i];
+            cumulative[i] = total;
+        }
+        final double weightSum = total;
+
+        Residence[] residences = new Residence[residenceCount];
+        IntStream indices = IntStream.range(0, residenceCount);
+        if (parallel) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> {
+            Residence residence = new Residence("R" + i);
+            double u = ResidenceCensus.uniform(seed, i, 0, LEVEL_STREAM) * weightSum;
+            residence.setLevel(pickLevel(cumulative, u));
+            int tile = plants + i;
+            residence.setLocation(tile % gridWidth, tile / gridWidth);
+            residence.clearDirtyFields();
+            residences[i] = residence;
+        });
+        city.addResidences(Arrays.asList(residences));
+        city.clearDirtyFields();
+        return city;
+    }
+
+    /**
+     * @return First level whose cumulative weight exceeds u
+     */
+    private static int pickLevel(double[] cumulative, double u) {
+        int index = Arrays.binarySearch(cumulative, u);
+        index = index >= 0 ? index + 1 : -index - 1;
+        while (index < cumulative.length - 1 && cumulative[index] == (index == 0 ? 0.0 : cumulative[index - 1])) {
+            index++; // Skip zero-weight levels
+        }
+        return Math.min(index, cumulative.length - 1) + 1;
+    }
+}
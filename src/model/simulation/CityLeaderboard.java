@@ -0,0 +1,145 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import model.entite.City;
+
+/**
+ * Live ranking of many concurrently simulated cities, one ranking per
+ * {@link LeaderboardMetric}.
+ * Each ranking is an immutable order-statistic tree published through an
+ * atomic reference: a city's update copies O(log n) nodes and swaps the
+ * root with a compare-and-set, so updates of different cities never wait
+ * for each other, and rank or top-k queries run in O(log n + k) on a
+ * consistent snapshot.
+ * Cities are identified by name, which must be unique on the leaderboard.
+ */
+public class CityLeaderboard {
+
+    // ========== Instance Variables ==========
+
+    private final Map<LeaderboardMetric, AtomicReference<RankTree>> rankings;
+
+    /**
+     * Keys currently ranked for each city (index = metric ordinal).
+     * The trees are updated while the city's entry is being computed, so
+     * concurrent updates of one city move its keys one after the other.
+     */
+    private final ConcurrentHashMap<String, double[]> keysByCity;
+
+    // ========== Constructor ==========
+
+    public CityLeaderboard() {
+        this.rankings = new EnumMap<>(LeaderboardMetric.class);
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            rankings.put(metric, new AtomicReference<>());
+        }
+        this.keysByCity = new ConcurrentHashMap<>();
+    }
+
+    // ========== Update Methods ==========
+
+    /**
+     * Records the current metrics of a city. Called by the thread
+     * simulating the city, typically right after its tick.
+     * 
+     * @param city City to rank
+     */
+    public void update(City city) {
+        String name = city.getName();
+        double[] keys = new double[LeaderboardMetric.values().length];
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            keys[metric.ordinal()] = keyOf(metric, metric.scoreOf(city));
+        }
+        keysByCity.compute(name, (n, previous) -> {
+            for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+                double key = keys[metric.ordinal()];
+                if (previous != null && Double.compare(previous[metric.ordinal()], key) == 0) {
+                    continue;
+                }
+                AtomicReference<RankTree> ranking = rankings.get(metric);
+                RankTree root;
+                RankTree updated;
+                do {
+                    root = ranking.get();
+                    updated = previous == null ? root : RankTree.remove(root, previous[metric.ordinal()], name);
+                    updated = RankTree.insert(updated, key, name);
+                } while (!ranking.compareAndSet(root, updated));
+            }
+            return keys;
+        });
+    }
+
+    /**
+     * Removes a city from every ranking.
+     * 
+     * @param cityName Name of the city
+     */
+    public void remove(String cityName) {
+        keysByCity.computeIfPresent(cityName, (n, previous) -> {
+            for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+                AtomicReference<RankTree> ranking = rankings.get(metric);
+                RankTree root;
+                do {
+                    root = ranking.get();
+                } while (!ranking.compareAndSet(root,
+                        RankTree.remove(root, previous[metric.ordinal()], cityName)));
+            }
+            return null;
+        });
+    }
+
+    // ========== Query Methods ==========
+
+    /**
+     * @return Number of ranked cities
+     */
+    public int size() {
+        return keysByCity.size();
+    }
+
+    /**
+     * @param cityName Name of the city
+     * @param metric   Ranking to look into
+     * @return Rank of the city starting at 1, or -1 if it is not ranked
+     */
+    public int rankOf(String cityName, LeaderboardMetric metric) {
+        double[] keys = keysByCity.get(cityName);
+        if (keys == null) {
+            return -1;
+        }
+        return RankTree.countBefore(rankings.get(metric).get(), keys[metric.ordinal()], cityName) + 1;
+    }
+
+    /**
+     * @param metric Ranking to read
+     * @param k      Number of entries wanted
+     * @return Best {@code k} cities (fewer if fewer are ranked), best first
+     */
+    public List<LeaderboardEntry> top(LeaderboardMetric metric, int k) {
+        RankTree root = rankings.get(metric).get();
+        int limit = Math.min(k, RankTree.size(root));
+        List<String> names = new ArrayList<>(limit);
+        List<Double> keys = new ArrayList<>(limit);
+        RankTree.collect(root, limit, names, keys);
+
+        List<LeaderboardEntry> entries = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            entries.add(new LeaderboardEntry(names.get(i), keyOf(metric, keys.get(i)), i + 1));
+        }
+        return entries;
+    }
+
+    /**
+     * Trees keep the best city first; descending metrics are negated.
+     * The mapping is its own inverse.
+     */
+    private static double keyOf(LeaderboardMetric metric, double value) {
+        return metric.isHigherBetter() ? -value : value;
+    }
+}
@@ -0,0 +1,247 @@
+package model.simulation;
+
+import model.entite.City;
+import model.entite.CityLedger;
+import model.entite.LedgerCategory;
+import model.entite.PlantParameters;
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PollutionField;
+import model.entite.PowerPlant;
+
+/**
+ * Daily simulation step of a city.
+ * Advances construction and upgrades, dispatches production and storage
+ * against the residences' demand, then settles the budget, pollution and
+ * happiness. Plant failures are applied when an {@link OutageScheduler} is
+ * set. Every balancing value is read from a {@link SimulationParameters},
+ * and dispatch, revenue and happiness follow its {@link DayRules}.
+ * When the city has a {@link PollutionField}, plants emit on their tile.
+ */
+public class CitySimulator {
+
+    // ========== Class Variables (Static) ==========
+
+    private static final PlantType[] PLANT_TYPES = PlantType.values();
+
+    // ========== Instance Variables ==========
+
+    private final SimulationParameters parameters;
+    private final DailyDemandPass demandPass;
+    private final PollutionDiffusion pollutionDiffusion;
+    private OutageScheduler outageScheduler; // Optional, null disables failures
+    // City structure the scheduler tracks
+    private long scheduledStructureVersion;
+    private int scheduledPlantCount;
+    private CapacityAdvisor capacityAdvisor; // Optional, null disables blackout warnings
+
+    // ========== Constructor ==========
+
+    public CitySimulator(SimulationParameters parameters) {
+        this.parameters = parameters;
+        this.demandPass = new DailyDemandPass();
+        this.pollutionDiffusion = new PollutionDiffusion();
+    }
+
+    // ========== Getters ==========
+
+    public SimulationParameters getParameters() {
+        return parameters;
+    }
+
+    public OutageScheduler getOutageScheduler() {
+        return outageScheduler;
+    }
+
+    public CapacityAdvisor getCapacityAdvisor() {
+        return capacityAdvisor;
+    }
+
+    // ========== Setters ==========
+
+    /**
+     * Enables plant failures. Plants already in the city are registered;
+     * plants later added, removed or replaced other than by
+     * {@link #build(City, PlantType)} (e.g. by an undo) are reconciled at
+     * the next tick.
+     * 
+     * @param city            City simulated by this simulator
+     * @param outageScheduler Scheduler of the city, or null to disable
+     */
+    public void setOutageScheduler(City city, OutageScheduler outageScheduler) {
+        this.outageScheduler = outageScheduler;
+        if (outageScheduler != null) {
+            for (PowerPlant plant : city.getPowerPlants()) {
+                outageScheduler.register(plant, city.getCurrentDay());
+            }
+            this.scheduledStructureVersion = city.getStructureVersion();
+            this.scheduledPlantCount = city.getPowerPlants().size();
+        }
+    }
+
+    /**
+     * Enables blackout warnings: each report then carries a
+     * {@link CapacityAdvice} for the days ahead.
+     * 
+     * @param capacityAdvisor Advisor of the city, or null to disable
+     */
+    public void setCapacityAdvisor(CapacityAdvisor capacityAdvisor) {
+        this.capacityAdvisor = capacityAdvisor;
+    }
+
+    // ========== Player Actions ==========
+
+    /**
+     * Starts the construction of a new plant if the city can afford it.
+     * 
+     * @param city City building the plant
+     * @param type Type of plant to build
+     * @return The new plant, or null if the city cannot afford it
+     */
+    public PowerPlant build(City city, PlantType type) {
+        PlantParameters plantParameters = parameters.getPlantParameters(type);
+        double cost = plantParameters.getConstructionCost();
+        if (city.getTotalCoins() < cost) {
+            return null;
+        }
+        PowerPlant plant = plantParameters.createPlant(city.nextPlantId(type));
+        city.setTotalCoins(city.getTotalCoins() - cost);
+        city.getLedger().record(city.getCurrentDay(), LedgerCategory.CONSTRUCTION_COST, type, cost);
+        city.addPowerPlant(plant);
+        if (outageScheduler != null) {
+            outageScheduler.register(plant, city.getCurrentDay());
+            scheduledPlantCount++;
+        }
+        return plant;
+    }
+
+    /**
+     * Starts upgrading an active plant if the city can afford it.
+     * 
+     * @param city  City owning the plant
+     * @param plant Plant to upgrade
+     * @return true if the upgrade started
+     */
+    public boolean upgrade(City city, PowerPlant plant) {
+        if (plant.getStatus() != PlantStatus.ACTIVE || plant.getLevel() >= plant.getMaxLevel()
+                || city.getTotalCoins() < plant.getUpgradeCost()) {
+            return false;
+        }
+        city.setTotalCoins(city.getTotalCoins() - plant.getUpgradeCost());
+        city.getLedger().record(city.getCurrentDay(), LedgerCategory.UPGRADE_COST, plant.getType(),
+                plant.getUpgradeCost());
+        plant.setStatus(PlantStatus.UPGRADING);
+        plant.setRemainingTime(plant.getUpgradeTime());
+        return true;
+    }
+
+    // ========== Simulation Methods ==========
+
+    /**
+     * Simulates the current day of a city and moves it to the next day.
+     * 
+     * @param city City to simulate
+     * @return Outcome of the simulated day
+     */
+    public DayReport tick(City city) {
+        DayReport report = new DayReport();
+        report.setDay(city.getCurrentDay());
+
+        if (outageScheduler != null) {
+            if (city.getStructureVersion() != scheduledStructureVersion
+                    || city.getPowerPlants().size() != scheduledPlantCount) {
+                outageScheduler.retainOnly(city.getPowerPlants(), city.getCurrentDay());
+                scheduledStructureVersion = city.getStructureVersion();
+                scheduledPlantCount = city.getPowerPlants().size();
+            }
+            outageScheduler.reconcile(city.getPowerPlants(), city.getCurrentDay()); // Statuses may be rewound
+            outageScheduler.advanceTo(city.getCurrentDay());
+        }
+        advanceWorks(city);
+
+        // Production and storage of active plants
+        double production = 0.0;
+        double storageCapacity = 0.0;
+        double stored = 0.0;
+        double pollution = 0.0;
+        double operatingCost = 0.0;
+        double[] operatingCostByType = new double[PLANT_TYPES.length];
+        PollutionField pollutionField = city.getPollutionField();
+        for (PowerPlant plant : city.getPowerPlants()) {
+            if (plant.getStatus() != PlantStatus.UNDER_CONSTRUCTION) {
+                operatingCost += plant.getDailyCost();
+                operatingCostByType[plant.getType().ordinal()] += plant.getDailyCost();
+            }
+            if (plant.getStatus() == PlantStatus.ACTIVE) {
+                production += plant.getPowerOutput();
+                storageCapacity += plant.getStorageCapacity();
+                stored += plant.getCurrentEnergyStored();
+                pollution += plant.getPollutionRate();
+                if (pollutionField != null) {
+                    pollutionField.emit(plant.getX(), plant.getY(), (float) plant.getPollutionRate());
+                }
+            }
+        }
+        if (pollutionField != null) {
+            pollutionDiffusion.step(pollutionField);
+        }
+
+        demandPass.update(city);
+        double demand = city.getTotalEnergyDemand();
+        DayRules rules = parameters.getRules();
+        double supplied = rules.dispatch(city, production, demand);
+
+        // Economy
+        double revenue = rules.revenue(city, supplied);
+        city.setTotalCoins(city.getTotalCoins() + revenue - operatingCost);
+
+        CityLedger ledger = city.getLedger();
+        ledger.record(report.getDay(), LedgerCategory.RESIDENCE_REVENUE, revenue);
+        for (PlantType type : PLANT_TYPES) {
+            if (operatingCostByType[type.ordinal()] > 0.0) {
+                ledger.record(report.getDay(), LedgerCategory.OPERATING_COST, type,
+                        operatingCostByType[type.ordinal()]);
+            }
+        }
+
+        city.setTotalEnergyAvailable(production + stored);
+        city.setTotalStorageCapacity(storageCapacity);
+        city.setTotalPollution(pollution);
+
+        report.setEnergyDemand(demand);
+        report.setEnergySupplied(supplied);
+        report.setRevenue(revenue);
+        report.setOperatingCost(operatingCost);
+
+        rules.updateHappiness(city, report.getSupplyRatio());
+
+        if (capacityAdvisor != null) {
+            capacityAdvisor.observe(city, demand);
+            report.setCapacityAdvice(capacityAdvisor.advise(city, outageScheduler));
+        }
+
+        city.setCurrentDay(city.getCurrentDay() + 1);
+        return report;
+    }
+
+    /**
+     * Counts down construction and upgrade times.
+     */
+    private void advanceWorks(City city) {
+        for (PowerPlant plant : city.getPowerPlants()) {
+            PlantStatus status = plant.getStatus();
+            if (status != PlantStatus.UNDER_CONSTRUCTION && status != PlantStatus.UPGRADING) {
+                continue;
+            }
+            plant.setRemainingTime(plant.getRemainingTime() - 1);
+            if (plant.getRemainingTime() > 0) {
+                continue;
+            }
+            if (status == PlantStatus.UPGRADING) {
+                parameters.getPlantParameters(plant.getType()).applyLevel(plant, plant.getLevel() + 1);
+            }
+            plant.setRemainingTime(0);
+            plant.setStatus(PlantStatus.ACTIVE);
+        }
+    }
+}
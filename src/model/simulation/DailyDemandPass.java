@@ -0,0 +1,87 @@
+package model.simulation;
+
+import model.entite.City;
+import model.entite.Residence;
+import model.entite.ResidenceCensus;
+
+/**
+ * Exact city-wide demand update computed from the census slots.
+ * Each residence's value of the day is derived from (seed, id, day) exactly
+ * as {@link Residence#getEnergyDemand()} would, but from primitive arrays and
+ * without touching or materializing the residence objects.
+ * This is the authoritative daily demand of a city; see
+ * {@link AggregateDemandSampler} for the approximate one.
+ */
+public class DailyDemandPass {
+
+    // ========== Instance Variables ==========
+
+    // Level bounds, cached per level (index = level)
+    private double[] demandMin = new double[0];
+    private double[] demandWidth = new double[0];
+    private double[] purchasingPowerMin = new double[0];
+    private double[] purchasingPowerWidth = new double[0];
+    private double cachedDemandGrowthRate;
+    private double cachedPurchasingPowerGrowthRate;
+
+    // ========== Update Methods ==========
+
+    /**
+     * Computes the exact totals of the current day.
+     * Updates {@code totalEnergyDemand} and {@code avgPurchasingPower}.
+     * Values overridden through the residence setters are not seen by this pass.
+     *
+     * @param city City to update
+     */
+    public void update(City city) {
+        ResidenceCensus census = city.getResidenceCensus();
+        ensureBounds(census);
+
+        long seed = census.getSeed();
+        int day = census.getDay();
+        int slots = census.getSlotCount();
+
+        double totalDemand = 0.0;
+        double totalPurchasingPower = 0.0;
+        for (int slot = 0; slot < slots; slot++) {
+            int level = census.getSlotLevel(slot);
+            if (level == ResidenceCensus.VACANT_SLOT) {
+                continue;
+            }
+            long key = census.getSlotKey(slot);
+            totalDemand += demandMin[level] + demandWidth[level]
+                    * ResidenceCensus.uniform(seed, key, day, ResidenceCensus.DEMAND_STREAM);
+            totalPurchasingPower += purchasingPowerMin[level] + purchasingPowerWidth[level]
+                    * ResidenceCensus.uniform(seed, key, day, ResidenceCensus.PURCHASING_POWER_STREAM);
+        }
+
+        int total = census.getTotalCount();
+        city.setTotalEnergyDemand(totalDemand);
+        city.setAvgPurchasingPower(total == 0 ? 0.0 : totalPurchasingPower / total);
+    }
+
+    private void ensureBounds(ResidenceCensus census) {
+        double demandGrowthRate = census.getDemandGrowthRate();
+        double purchasingPowerGrowthRate = census.getPurchasingPowerGrowthRate();
+        if (demandMin.length > census.getMaxLevel()
+                && cachedDemandGrowthRate == demandGrowthRate
+                && cachedPurchasingPowerGrowthRate == purchasingPowerGrowthRate) {
+            return;
+        }
+        cachedDemandGrowthRate = demandGrowthRate;
+        cachedPurchasingPowerGrowthRate = purchasingPowerGrowthRate;
+
+        int size = census.getMaxLevel() + 1;
+        demandMin = new double[size];
+        demandWidth = new double[size];
+        purchasingPowerMin = new double[size];
+        purchasingPowerWidth = new double[size];
+        for (int level = 0; level < size; level++) {
+            demandMin[level] = Residence.computeEnergyDemandMin(level, demandGrowthRate);
+            demandWidth[level] = Residence.computeEnergyDemandMax(level, demandGrowthRate) - demandMin[level];
+            purchasingPowerMin[level] = Residence.computePurchasingPowerMin(level, purchasingPowerGrowthRate);
+            purchasingPowerWidth[level] = Residence.computePurchasingPowerMax(level, purchasingPowerGrowthRate)
+                    - purchasingPowerMin[level];
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package model.simulation;
+
+/**
+ * Outcome of one simulated day of a city.
+ * Acts as a data container filled by {@link CitySimulator#tick}.
+ */
+public class DayReport {
+
+    private int day;
+    private double energyDemand;
+    private double energySupplied;
+    private double revenue;
+    private double operatingCost;
+    private CapacityAdvice capacityAdvice; // null without a CapacityAdvisor
+
+    // ========== Getters ==========
+
+    public int getDay() {
+        return day;
+    }
+
+    public double getEnergyDemand() {
+        return energyDemand;
+    }
+
+    public double getEnergySupplied() {
+        return energySupplied;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public double getOperatingCost() {
+        return operatingCost;
+    }
+
+    public CapacityAdvice getCapacityAdvice() {
+        return capacityAdvice;
+    }
+
+    /**
+     * @return Share of the demand that was supplied, between 0 and 1
+     */
+    public double getSupplyRatio() {
+        return energyDemand <= 0.0 ? 1.0 : energySupplied / energyDemand;
+    }
+
+    /**
+     * @return true if part of the demand could not be supplied
+     */
+    public boolean isBlackout() {
+        return energySupplied < energyDemand;
+    }
+
+    // ========== Setters ==========
+
+    public void setDay(int day) {
+        this.day = day;
+    }
+
+    public void setEnergyDemand(double energyDemand) {
+        this.energyDemand = energyDemand;
+    }
+
+    public void setEnergySupplied(double energySupplied) {
+        this.energySupplied = energySupplied;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+
+    public void setOperatingCost(double operatingCost) {
+        this.operatingCost = operatingCost;
+    }
+
+    public void setCapacityAdvice(CapacityAdvice capacityAdvice) {
+        this.capacityAdvice = capacityAdvice;
+    }
+
+    // ========== Standard Methods ==========
+
+    @Override
+    public String toString() {
+        return "DayReport{" +
+                "day=" + day +
+                ", energyDemand=" + energyDemand +
+                ", energySupplied=" + energySupplied +
+                ", revenue=" + revenue +
+                ", operatingCost=" + operatingCost +
+                '}';
+    }
+}
@@ -0,0 +1,208 @@
+package model.simulation;
+
+import model.entite.City;
+import model.entite.PlantStatus;
+import model.entite.PollutionField;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+
+/**
+ * Rules of a simulated day that the building classes leave open: how
+ * production and storage meet the demand, what the residences pay and how
+ * happiness reacts to supply, pollution and price.
+ * Buildings only define their own stats; {@link CitySimulator} applies
+ * these rules to them. They are kept in one place, with runtime factors, so
+ * that sweeps can tune or replace them like the building constants.
+ */
+public class DayRules {
+
+    // ========== Class Variables (Static) - Defaults ==========
+
+    /**
+     * Happiness lost per pollution point per residence.
+     */
+    public static final double POLLUTION_HAPPINESS_FACTOR = 20.0;
+
+    /**
+     * Happiness lost per unit of pollution on a residence's tile.
+     */
+    public static final double LOCAL_POLLUTION_HAPPINESS_FACTOR = 0.2;
+
+    /**
+     * Happiness lost when the price is twice the average purchasing power.
+     */
+    public static final double PRICE_HAPPINESS_FACTOR = 50.0;
+
+    /**
+     * Share of the gap to the target happiness closed each day.
+     */
+    public static final double HAPPINESS_INERTIA = 0.2;
+
+    // ========== Instance Variables ==========
+
+    private double pollutionHappinessFactor;
+    private double localPollutionHappinessFactor;
+    private double priceHappinessFactor;
+    private double happinessInertia;
+
+    // ========== Constructor ==========
+
+    /**
+     * Creates rules holding every default factor.
+     */
+    public DayRules() {
+        this.pollutionHappinessFactor = POLLUTION_HAPPINESS_FACTOR;
+        this.localPollutionHappinessFactor = LOCAL_POLLUTION_HAPPINESS_FACTOR;
+        this.priceHappinessFactor = PRICE_HAPPINESS_FACTOR;
+        this.happinessInertia = HAPPINESS_INERTIA;
+    }
+
+    // ========== Getters ==========
+
+    public double getPollutionHappinessFactor() {
+        return pollutionHappinessFactor;
+    }
+
+    public double getLocalPollutionHappinessFactor() {
+        return localPollutionHappinessFactor;
+    }
+
+    public double getPriceHappinessFactor() {
+        return priceHappinessFactor;
+    }
+
+    public double getHappinessInertia() {
+        return happinessInertia;
+    }
+
+    // ========== Setters ==========
+
+    public void setPollutionHappinessFactor(double pollutionHappinessFactor) {
+        this.pollutionHappinessFactor = pollutionHappinessFactor;
+    }
+
+    public void setLocalPollutionHappinessFactor(double localPollutionHappinessFactor) {
+        this.localPollutionHappinessFactor = localPollutionHappinessFactor;
+    }
+
+    public void setPriceHappinessFactor(double priceHappinessFactor) {
+        this.priceHappinessFactor = priceHappinessFactor;
+    }
+
+    public void setHappinessInertia(double happinessInertia) {
+        this.happinessInertia = happinessInertia;
+    }
+
+    /**
+     * Overrides one factor by the name of its default constant
+     * (e.g. {@code HAPPINESS_INERTIA}).
+     *
+     * @param name  Constant name
+     * @param value New value
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public void set(String name, String value) {
+        switch (name) {
+            case "POLLUTION_HAPPINESS_FACTOR":
+                this.pollutionHappinessFactor = Double.parseDouble(value);
+                break;
+            case "LOCAL_POLLUTION_HAPPINESS_FACTOR":
+                this.localPollutionHappinessFactor = Double.parseDouble(value);
+                break;
+            case "PRICE_HAPPINESS_FACTOR":
+                this.priceHappinessFactor = Double.parseDouble(value);
+                break;
+            case "HAPPINESS_INERTIA":
+                this.happinessInertia = Double.parseDouble(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown day rule parameter: " + name);
+        }
+    }
+
+    // ========== Rule Methods ==========
+
+    /**
+     * Serves the demand from production first, then from storage.
+     * Surplus production charges the storage of active plants.
+     *
+     * @param city       City whose plants store and release energy
+     * @param production Production of the active plants
+     * @param demand     Demand of the residences
+     * @return Energy actually supplied to the residences
+     */
+    public double dispatch(City city, double production, double demand) {
+        double balance = production - demand;
+        for (PowerPlant plant : city.getPowerPlants()) {
+            if (balance == 0.0) {
+                break;
+            }
+            if (plant.getStatus() != PlantStatus.ACTIVE) {
+                continue;
+            }
+            double current = plant.getCurrentEnergyStored();
+            if (balance > 0.0) {
+                double charge = Math.min(balance, plant.getStorageCapacity() - current);
+                if (charge > 0.0) {
+                    plant.setCurrentEnergyStored(current + charge);
+                    balance -= charge;
+                }
+            } else {
+                double discharge = Math.min(-balance, current);
+                plant.setCurrentEnergyStored(current - discharge);
+                balance += discharge;
+            }
+        }
+        return balance >= 0.0 ? demand : demand + balance;
+    }
+
+    /**
+     * Residences pay the electricity price, capped at what they can afford.
+     *
+     * @param city     City selling the energy
+     * @param supplied Energy supplied to the residences
+     * @return Revenue of the day
+     */
+    public double revenue(City city, double supplied) {
+        return supplied * Math.min(city.getElectricityPrice(), city.getAvgPurchasingPower());
+    }
+
+    /**
+     * Moves happiness toward a target set by supply, pollution and price.
+     *
+     * @param city        City to update
+     * @param supplyRatio Share of the demand supplied, in [0, 1]
+     */
+    public void updateHappiness(City city, double supplyRatio) {
+        double target = 100.0 * supplyRatio - pollutionPenalty(city);
+
+        double purchasingPower = city.getAvgPurchasingPower();
+        if (purchasingPower > 0.0 && city.getElectricityPrice() > purchasingPower) {
+            target -= priceHappinessFactor * (city.getElectricityPrice() / purchasingPower - 1.0);
+        }
+        target = Math.max(0.0, Math.min(100.0, target));
+
+        double happiness = city.getGlobalHappiness();
+        city.setGlobalHappiness(happiness + (target - happiness) * happinessInertia);
+    }
+
+    /**
+     * Happiness lost to pollution: the city-wide total shared by the
+     * residences, or the average pollution on their tiles.
+     */
+    private double pollutionPenalty(City city) {
+        PollutionField pollutionField = city.getPollutionField();
+        if (pollutionField == null) {
+            int residences = Math.max(1, city.getResidenceCensus().getTotalCount());
+            return pollutionHappinessFactor * city.getTotalPollution() / residences;
+        }
+        if (city.getResidences().isEmpty()) {
+            return 0.0;
+        }
+        double localPollution = 0.0;
+        for (Residence residence : city.getResidences()) {
+            localPollution += pollutionField.get(residence);
+        }
+        return localPollutionHappinessFactor * localPollution / city.getResidences().size();
+    }
+}
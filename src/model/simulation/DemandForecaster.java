@@ -0,0 +1,180 @@
+package model.simulation;
+
+import java.util.Arrays;
+
+import model.entite.Residence;
+import model.entite.ResidenceCensus;
+
+/**
+ * Online forecast of the daily energy demand of a city.
+ * Follows the number of residences at each level with Holt's linear
+ * exponential smoothing (a smoothed count and daily trend per level), so
+ * that new residences and upgrades are projected separately. A forecast is
+ * the projected count of each level times its mean demand, scaled by the
+ * smoothed ratio of observed to expected demand, which absorbs values
+ * overridden through the residence setters.
+ * Residence demand does not depend on occupancy, so population only
+ * enters through the residences counted by the census.
+ * State and cost are O(levels) per city.
+ */
+public class DemandForecaster {
+
+    // ========== Class Variables (Static) - Defaults ==========
+
+    public static final double DEFAULT_LEVEL_SMOOTHING = 0.3; // Weight of the newest day in the counts
+    public static final double DEFAULT_TREND_SMOOTHING = 0.1; // Weight of the newest change in the trends
+    public static final double DEFAULT_CALIBRATION_SMOOTHING = 0.1; // Weight of the newest day in the ratio
+
+    // ========== Instance Variables ==========
+
+    private final double levelSmoothing;
+    private final double trendSmoothing;
+    private final double calibrationSmoothing;
+
+    // Per residence level (index = level)
+    private double[] counts; // Smoothed number of residences
+    private double[] trends; // Residences per day
+    private double[] meanDemands; // MWh/day of one residence
+
+    private double calibration; // Observed / expected demand
+    private int observations;
+
+    // ========== Constructor ==========
+
+    public DemandForecaster() {
+        this(DEFAULT_LEVEL_SMOOTHING, DEFAULT_TREND_SMOOTHING, DEFAULT_CALIBRATION_SMOOTHING);
+    }
+
+    /**
+     * @param levelSmoothing       Weight of the newest day in the counts, in (0, 1]
+     * @param trendSmoothing       Weight of the newest change in the trends, in (0, 1]
+     * @param calibrationSmoothing Weight of the newest day in the observed
+     *                             to expected ratio, in (0, 1]
+     */
+    public DemandForecaster(double levelSmoothing, double trendSmoothing, double calibrationSmoothing) {
+        if (!isSmoothing(levelSmoothing) || !isSmoothing(trendSmoothing) || !isSmoothing(calibrationSmoothing)) {
+            throw new IllegalArgumentException("Smoothing factors must be within (0, 1]");
+        }
+        this.levelSmoothing = levelSmoothing;
+        this.trendSmoothing = trendSmoothing;
+        this.calibrationSmoothing = calibrationSmoothing;
+        this.counts = new double[0];
+        this.trends = new double[0];
+        this.meanDemands = new double[0];
+        this.calibration = 1.0;
+    }
+
+    // ========== Getters ==========
+
+    /**
+     * @param level Residence level
+     * @return Smoothed number of residences at this level
+     */
+    public double getCount(int level) {
+        return level < counts.length ? counts[level] : 0.0;
+    }
+
+    /**
+     * @param level Residence level
+     * @return Smoothed daily change of the number of residences at this level
+     */
+    public double getTrend(int level) {
+        return level < trends.length ? trends[level] : 0.0;
+    }
+
+    /**
+     * @return Smoothed ratio of the observed demand to the demand expected
+     *         from the residence levels
+     */
+    public double getCalibration() {
+        return calibration;
+    }
+
+    public int getObservations() {
+        return observations;
+    }
+
+    // ========== Forecast Methods ==========
+
+    /**
+     * Adds a new day.
+     *
+     * @param census Census of the city, read for its count per level
+     * @param demand Energy demand of the day (MWh)
+     */
+    public void observe(ResidenceCensus census, double demand) {
+        int levels = census.getMaxLevel() + 1;
+        if (levels > counts.length) {
+            counts = Arrays.copyOf(counts, levels);
+            trends = Arrays.copyOf(trends, levels);
+            meanDemands = Arrays.copyOf(meanDemands, levels);
+        }
+
+        double growthRate = census.getDemandGrowthRate();
+        double expected = 0.0;
+        for (int level = 0; level < counts.length; level++) {
+            meanDemands[level] = 0.5 * (Residence.computeEnergyDemandMin(level, growthRate)
+                    + Residence.computeEnergyDemandMax(level, growthRate));
+            int count = census.getCount(level);
+            expected += count * meanDemands[level];
+
+            if (observations == 0) {
+                counts[level] = count;
+                trends[level] = 0.0;
+            } else if (observations == 1) {
+                trends[level] = count - counts[level];
+                counts[level] = count;
+            } else {
+                double previousCount = counts[level];
+                counts[level] = levelSmoothing * count + (1.0 - levelSmoothing) * (counts[level] + trends[level]);
+                trends[level] = trendSmoothing * (counts[level] - previousCount)
+                        + (1.0 - trendSmoothing) * trends[level];
+            }
+        }
+
+        if (expected > 0.0) {
+            double ratio = demand / expected;
+            calibration = observations == 0 ? ratio
+                    : calibrationSmoothing * ratio + (1.0 - calibrationSmoothing) * calibration;
+        }
+        observations++;
+    }
+
+    /**
+     * @param daysAhead Number of days after the last observed day
+     * @return Expected demand of that day (MWh), never negative
+     */
+    public double forecast(int daysAhead) {
+        double expected = 0.0;
+        for (int level = 0; level < counts.length; level++) {
+            expected += Math.max(0.0, counts[level] + daysAhead * trends[level]) * meanDemands[level];
+        }
+        return expected * calibration;
+    }
+
+    /**
+     * Forgets every observed day.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0.0);
+        Arrays.fill(trends, 0.0);
+        calibration = 1.0;
+        observations = 0;
+    }
+
+    private static boolean isSmoothing(double factor) {
+        return factor > 0.0 && factor <= 1.0;
+    }
+
+    // ========== Standard Methods ==========
+
+    @Override
+    public String toString() {
+        return "DemandForecaster{" +
+                "counts=" + Arrays.toString(counts) +
+                ", trends=" + Arrays.toString(trends) +
+                ", calibration=" + calibration +
+                ", observations=" + observations +
+                '}';
+    }
+}
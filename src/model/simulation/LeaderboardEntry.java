@@ -0,0 +1,45 @@
+package model.simulation;
+
+/**
+ * One line of a leaderboard: a city and its score for a metric.
+ */
+public class LeaderboardEntry {
+
+    private final String cityName;
+    private final double score;
+    private final int rank;
+
+    public LeaderboardEntry(String cityName, double score, int rank) {
+        this.cityName = cityName;
+        this.score = score;
+        this.rank = rank;
+    }
+
+    // ========== Getters ==========
+
+    public String getCityName() {
+        return cityName;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * @return Position in the leaderboard, starting at 1
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    // ========== Standard Methods ==========
+
+    @Override
+    public String toString() {
+        return "LeaderboardEntry{" +
+                "rank=" + rank +
+                ", cityName='" + cityName + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package model.simulation;
+
+import java.util.function.ToDoubleFunction;
+
+import model.entite.City;
+
+/**
+ * Enum representing the metrics cities are ranked by.
+ */
+public enum LeaderboardMetric {
+    /**
+     * Richest city first.
+     */
+    TOTAL_COINS(City::getTotalCoins, true),
+
+    /**
+     * Happiest city first.
+     */
+    GLOBAL_HAPPINESS(City::getGlobalHappiness, true),
+
+    /**
+     * Most populated city first.
+     */
+    TOTAL_POPULATION(City::getTotalPopulation, true),
+
+    /**
+     * Least polluting city first.
+     */
+    TOTAL_POLLUTION(City::getTotalPollution, false);
+
+    private final ToDoubleFunction<City> extractor;
+    private final boolean higherIsBetter;
+
+    LeaderboardMetric(ToDoubleFunction<City> extractor, boolean higherIsBetter) {
+        this.extractor = extractor;
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    public double scoreOf(City city) {
+        return extractor.applyAsDouble(city);
+    }
+
+    public boolean isHigherBetter() {
+        return higherIsBetter;
+    }
+}
@@ -0,0 +1,248 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+import model.entite.PlantParameters;
+import model.entite.PlantStatus;
+import model.entite.PowerPlant;
+
+/**
+ * Event-driven plant failures and repairs for one city.
+ * Instead of rolling a die for every plant every day, the day of each
+ * plant's next failure is sampled once from a geometric distribution with
+ * the mean time between failures of its type, and kept in a priority queue.
+ * Each day only the plants with a due event are touched.
+ * A plant is down exactly while it is {@link PlantStatus#INACTIVE}.
+ */
+public class OutageScheduler {
+
+    // ========== Instance Variables ==========
+
+    private final SimulationParameters parameters;
+    private final SplittableRandom random;
+    private final PriorityQueue<OutageEvent> events;
+
+    /**
+     * Pending event of each registered plant (at most one per plant).
+     */
+    private final Map<PowerPlant, OutageEvent> pending;
+
+    private int failedCount;
+
+    // ========== Constructor ==========
+
+    /**
+     * @param parameters Source of the failure rates and repair times
+     * @param seed       Seed of the failure sampling
+     */
+    public OutageScheduler(SimulationParameters parameters, long seed) {
+        this.parameters = parameters;
+        this.random = new SplittableRandom(seed);
+        this.events = new PriorityQueue<>();
+        this.pending = new IdentityHashMap<>();
+    }
+
+    // ========== Getters ==========
+
+    /**
+     * @return Number of plants currently down for repair
+     */
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @param plant Registered plant
+     * @return true if the plant is down and waiting for its repair
+     */
+    public boolean isFailed(PowerPlant plant) {
+        OutageEvent event = pending.get(plant);
+        return event != null && event.repair;
+    }
+
+    /**
+     * @param plant Registered plant
+     * @return Day the plant is repaired, or -1 if it is not down
+     */
+    public int getRepairDay(PowerPlant plant) {
+        OutageEvent event = pending.get(plant);
+        return event != null && event.repair ? event.day : -1;
+    }
+
+    // ========== Scheduling Methods ==========
+
+    /**
+     * Starts tracking the reliability of a plant.
+     * An inactive plant is taken as down and gets a repair.
+     * 
+     * @param plant      Plant to track
+     * @param currentDay Day the plant enters service (or construction)
+     */
+    public void register(PowerPlant plant, int currentDay) {
+        if (!pending.containsKey(plant)) {
+            if (plant.getStatus() == PlantStatus.INACTIVE) {
+                scheduleRepair(plant, currentDay);
+            } else {
+                scheduleFailure(plant, currentDay);
+            }
+        }
+    }
+
+    /**
+     * Stops tracking a plant (e.g. when it is demolished).
+     * Its pending event is dropped lazily when it reaches the queue head.
+     * 
+     * @param plant Plant to forget
+     */
+    public void unregister(PowerPlant plant) {
+        OutageEvent event = pending.remove(plant);
+        if (event != null && event.repair) {
+            failedCount--;
+        }
+    }
+
+    /**
+     * Matches the tracked plants to those of a city, after plants were
+     * removed or replaced: plants no longer listed are unregistered and
+     * listed plants not tracked yet are registered.
+     * 
+     * @param plants     Plants of the city
+     * @param currentDay Current day
+     */
+    public void retainOnly(List<PowerPlant> plants, int currentDay) {
+        Set<PowerPlant> listed = Collections.newSetFromMap(new IdentityHashMap<>());
+        listed.addAll(plants);
+        List<PowerPlant> gone = new ArrayList<>();
+        for (PowerPlant plant : pending.keySet()) {
+            if (!listed.contains(plant)) {
+                gone.add(plant);
+            }
+        }
+        for (PowerPlant plant : gone) {
+            unregister(plant);
+        }
+        for (PowerPlant plant : plants) {
+            register(plant, currentDay);
+        }
+    }
+
+    /**
+     * Matches the pending events to the plant statuses, after they were
+     * rewound (e.g. by an undo): an inactive plant waiting for no repair
+     * gets one, and a plant back in service before its repair drops it.
+     * 
+     * @param plants     Registered plants
+     * @param currentDay Current day
+     */
+    public void reconcile(List<PowerPlant> plants, int currentDay) {
+        for (PowerPlant plant : plants) {
+            OutageEvent event = pending.get(plant);
+            boolean down = plant.getStatus() == PlantStatus.INACTIVE;
+            if (event != null && event.repair && !down) {
+                failedCount--;
+                scheduleFailure(plant, currentDay);
+            } else if (down && (event == null || !event.repair)) {
+                scheduleRepair(plant, currentDay);
+            }
+        }
+    }
+
+    /**
+     * Applies every failure and repair due up to the given day.
+     * A failure hitting a plant that is not active (under construction,
+     * upgrading or already down) is simply rescheduled.
+     * 
+     * @param day Current day
+     * @return Number of events applied
+     */
+    public int advanceTo(int day) {
+        int applied = 0;
+        while (!events.isEmpty() && events.peek().day <= day) {
+            OutageEvent event = events.poll();
+            if (pending.get(event.plant) != event) {
+                continue; // Unregistered plant
+            }
+            PowerPlant plant = event.plant;
+            if (event.repair) {
+                failedCount--;
+                if (plant.getStatus() == PlantStatus.INACTIVE) {
+                    plant.setStatus(PlantStatus.ACTIVE);
+                }
+                scheduleFailure(plant, event.day);
+            } else if (plant.getStatus() == PlantStatus.ACTIVE) {
+                plant.setStatus(PlantStatus.INACTIVE);
+                scheduleRepair(plant, event.day);
+            } else {
+                scheduleFailure(plant, event.day);
+            }
+            applied++;
+        }
+        return applied;
+    }
+
+    private void scheduleRepair(PowerPlant plant, int fromDay) {
+        failedCount++;
+        int repairTime = parameters.getPlantParameters(plant.getType()).getRepairTime();
+        schedule(new OutageEvent(plant, fromDay + Math.max(1, repairTime), true));
+    }
+
+    private void scheduleFailure(PowerPlant plant, int fromDay) {
+        PlantParameters plantParameters = parameters.getPlantParameters(plant.getType());
+        int delay = sampleGeometric(1.0 / plantParameters.getMeanTimeBetweenFailures());
+        if (delay > Integer.MAX_VALUE - fromDay) {
+            pending.remove(plant); // Never fails
+            return;
+        }
+        schedule(new OutageEvent(plant, fromDay + delay, false));
+    }
+
+    private void schedule(OutageEvent event) {
+        pending.put(event.plant, event);
+        events.add(event);
+    }
+
+    /**
+     * Days until the first success of daily trials with probability p.
+     * 
+     * @param p Daily failure probability
+     * @return Delay of at least one day, or Integer.MAX_VALUE if p is 0
+     */
+    int sampleGeometric(double p) {
+        if (!(p > 0.0)) {
+            return Integer.MAX_VALUE;
+        }
+        if (p >= 1.0) {
+            return 1;
+        }
+        double u = 1.0 - random.nextDouble(); // (0, 1]
+        double days = Math.ceil(Math.log(u) / Math.log1p(-p));
+        return days >= Integer.MAX_VALUE ? Integer.MAX_VALUE : Math.max(1, (int) days);
+    }
+
+    // ========== Events ==========
+
+    private static final class OutageEvent implements Comparable<OutageEvent> {
+
+        private final PowerPlant plant;
+        private final int day;
+        private final boolean repair;
+
+        private OutageEvent(PowerPlant plant, int day, boolean repair) {
+            this.plant = plant;
+            this.day = day;
+            this.repair = repair;
+        }
+
+        @Override
+        public int compareTo(OutageEvent other) {
+            return Integer.compare(day, other.day);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package model.simulation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import model.entite.City;
+import model.entite.PlantParameters;
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+
+/**
+ * Headless batch runner for balancing sweeps.
+ * Simulates many seeded cities for each parameter configuration across all
+ * cores and streams one CSV row per city as soon as it finishes.
+ * Each worker holds a single city at a time and the number of tasks in
+ * flight is bounded, so memory does not grow with the number of cities.
+ * 
+ * <pre>
+ * java model.simulation.ParameterSweepRunner [--cities N] [--days D]
+ *         [--threads T] [--seed S] [--out results.csv] config1.properties ...
+ * </pre>
+ */
+public class ParameterSweepRunner {
+
+    // ========== Class Variables (Static) ==========
+
+    public static final int DEFAULT_CITIES = 1000;
+    public static final int DEFAULT_DAYS = 365;
+
+    // Scenario
+    public static final double STARTING_COINS = 10000.0;
+    public static final int MIN_RESIDENCES = 5000;
+    public static final int MAX_RESIDENCES = 20000;
+    private static final double[] STARTING_LEVEL_WEIGHTS = { 1.0, 1.0, 1.0 }; // Levels 1 to 3
+
+    // Player policy
+    public static final double CAPACITY_MARGIN = 0.15; // Build when capacity < demand + 15%
+    public static final double UPGRADE_RESERVE = 5000.0; // Coins kept aside before upgrading
+
+    /**
+     * Tasks allowed in flight per worker thread.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    // ========== Instance Variables ==========
+
+    private final int citiesPerConfiguration;
+    private final int days;
+    private final int threads;
+    private final long baseSeed;
+
+    // ========== Constructor ==========
+
+    /**
+     * @param citiesPerConfiguration Number of seeded cities per configuration
+     * @param days                   Days simulated per city
+     * @param threads                Worker threads
+     * @param baseSeed               Seed of the first city; the others follow
+     */
+    public ParameterSweepRunner(int citiesPerConfiguration, int days, int threads, long baseSeed) {
+        this.citiesPerConfiguration = citiesPerConfiguration;
+        this.days = days;
+        this.threads = threads;
+        this.baseSeed = baseSeed;
+    }
+
+    // ========== Sweep Methods ==========
+
+    /**
+     * Runs every configuration and writes the results as CSV.
+     * Rows are written in completion order; the same seeds are used for
+     * every configuration so that results can be compared city by city.
+     * 
+     * @param configurations Parameter sets to compare
+     * @param out            Destination of the CSV output
+     * @throws IOException if the output cannot be written
+     */
+    public void run(List<SimulationParameters> configurations, Writer out) throws IOException {
+        out.write(SweepResult.CSV_HEADER);
+        out.write('\n');
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CompletionService<SweepResult> completion = new ExecutorCompletionService<>(executor);
+        int maxInFlight = threads * TASKS_PER_THREAD;
+        int inFlight = 0;
+        try {
+            for (SimulationParameters configuration : configurations) {
+                for (int i = 0; i < citiesPerConfiguration; i++) {
+                    long seed = baseSeed + i;
+                    completion.submit(() -> simulate(configuration, seed, days));
+                    inFlight++;
+                    if (inFlight >= maxInFlight) {
+                        writeNext(completion, out);
+                        inFlight--;
+                    }
+                }
+            }
+            while (inFlight > 0) {
+                writeNext(completion, out);
+                inFlight--;
+            }
+            out.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void writeNext(CompletionService<SweepResult> completion, Writer out) throws IOException {
+        try {
+            out.write(completion.take().get().toCsvRow());
+            out.write('\n');
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Sweep interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("City simulation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Simulates one seeded city with a simple player policy: build the
+     * cheapest capacity when demand gets close to production, otherwise
+     * upgrade plants with the spare budget.
+     * 
+     * @param parameters Configuration to simulate
+     * @param seed       Seed of the city
+     * @param days       Number of days to simulate
+     * @return Summary of the city at the end of the run
+     */
+    public static SweepResult simulate(SimulationParameters parameters, long seed, int days) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int residences = random.nextInt(MIN_RESIDENCES, MAX_RESIDENCES + 1);
+
+        CityGenerator generator = new CityGenerator(seed);
+        generator.setParameters(parameters);
+        generator.setParallel(false); // Already one city per worker
+        generator.setResidenceCount(residences);
+        generator.setLevelWeights(STARTING_LEVEL_WEIGHTS);
+        City city = generator.generate("sweep-" + seed, STARTING_COINS);
+
+        CitySimulator simulator = new CitySimulator(parameters);
+        simulator.setOutageScheduler(city, new OutageScheduler(parameters, random.nextLong()));
+        new DailyDemandPass().update(city);
+        double demand = city.getTotalEnergyDemand();
+
+        SweepResult result = new SweepResult(parameters.getName(), seed);
+        for (int day = 0; day < days; day++) {
+            play(simulator, city, demand);
+            DayReport report = simulator.tick(city);
+            demand = report.getEnergyDemand();
+
+            if (report.isBlackout()) {
+                result.setBlackoutDays(result.getBlackoutDays() + 1);
+            }
+            result.setTotalRevenue(result.getTotalRevenue() + report.getRevenue());
+            result.setTotalOperatingCost(result.getTotalOperatingCost() + report.getOperatingCost());
+        }
+
+        result.setResidences(residences);
+        result.setDays(days);
+        result.setFinalCoins(city.getTotalCoins());
+        result.setFinalHappiness(city.getGlobalHappiness());
+        result.setFinalPollution(city.getTotalPollution());
+        result.setPlants(city.getPowerPlants().size());
+        return result;
+    }
+
+    private static void play(CitySimulator simulator, City city, double demand) {
+        double capacity = 0.0;
+        PowerPlant cheapestUpgrade = null;
+        for (PowerPlant plant : city.getPowerPlants()) {
+            if (plant.getStatus() != PlantStatus.INACTIVE) {
+                capacity += plant.getPowerOutput();
+            }
+            if (plant.getStatus() == PlantStatus.ACTIVE && plant.getLevel() < plant.getMaxLevel()
+                    && (cheapestUpgrade == null || plant.getUpgradeCost() < cheapestUpgrade.getUpgradeCost())) {
+                cheapestUpgrade = plant;
+            }
+        }
+
+        if (capacity < demand * (1.0 + CAPACITY_MARGIN)) {
+            PlantType type = cheapestCapacity(simulator.getParameters(), city.getTotalCoins());
+            if (type != null) {
+                simulator.build(city, type);
+            }
+        } else if (cheapestUpgrade != null
+                && city.getTotalCoins() - cheapestUpgrade.getUpgradeCost() >= UPGRADE_RESERVE) {
+            simulator.upgrade(city, cheapestUpgrade);
+        }
+    }
+
+    /**
+     * @return Affordable producing type with the lowest cost per MW, or null
+     */
+    private static PlantType cheapestCapacity(SimulationParameters parameters, double budget) {
+        PlantType best = null;
+        double bestCostPerMw = Double.MAX_VALUE;
+        for (PlantType type : PlantType.values()) {
+            PlantParameters plantParameters = parameters.getPlantParameters(type);
+            if (plantParameters.getPowerOutput() <= 0.0 || plantParameters.getConstructionCost() > budget) {
+                continue;
+            }
+            double costPerMw = plantParameters.getConstructionCost() / plantParameters.getPowerOutput();
+            if (costPerMw < bestCostPerMw) {
+                bestCostPerMw = costPerMw;
+                best = type;
+            }
+        }
+        return best;
+    }
+
+    // ========== Entry Point ==========
+
+    public static void main(String[] args) throws IOException {
+        int cities = DEFAULT_CITIES;
+        int days = DEFAULT_DAYS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1L;
+        Path output = null;
+        List<SimulationParameters> configurations = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--cities":
+                    cities = Integer.parseInt(args[++i]);
+                    break;
+                case "--days":
+                    days = Integer.parseInt(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--out":
+                    output = Paths.get(args[++i]);
+                    break;
+                default:
+                    configurations.add(SimulationParameters.load(Paths.get(args[i])));
+            }
+        }
+        if (configurations.isEmpty()) {
+            configurations.add(new SimulationParameters("defaults"));
+        }
+
+        ParameterSweepRunner runner = new ParameterSweepRunner(cities, days, threads, seed);
+        try (Writer out = output != null
+                ? Files.newBufferedWriter(output, StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            runner.run(configurations, out);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package model.simulation;
+
+import java.util.List;
+
+/**
+ * Immutable order-statistic treap of (key, name) pairs, smallest key first.
+ * Every update copies only the O(log n) nodes on its path and returns a new
+ * root, so readers holding an older root keep a consistent snapshot.
+ */
+final class RankTree {
+
+    private final double key;
+    private final String name;
+    private final int priority;
+    private final RankTree left;
+    private final RankTree right;
+    private final int size;
+
+    private RankTree(double key, String name, int priority, RankTree left, RankTree right) {
+        this.key = key;
+        this.name = name;
+        this.priority = priority;
+        this.left = left;
+        this.right = right;
+        this.size = 1 + size(left) + size(right);
+    }
+
+    private RankTree with(RankTree newLeft, RankTree newRight) {
+        return new RankTree(key, name, priority, newLeft, newRight);
+    }
+
+    // ========== Queries ==========
+
+    static int size(RankTree node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * @return Number of pairs strictly before (key, name)
+     */
+    static int countBefore(RankTree node, double key, String name) {
+        int count = 0;
+        while (node != null) {
+            if (compare(node.key, node.name, key, name) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Appends the first {@code limit} names in order, with their keys.
+     */
+    static void collect(RankTree node, int limit, List<String> names, List<Double> keys) {
+        if (node == null || names.size() >= limit) {
+            return;
+        }
+        collect(node.left, limit, names, keys);
+        if (names.size() < limit) {
+            names.add(node.name);
+            keys.add(node.key);
+            collect(node.right, limit, names, keys);
+        }
+    }
+
+    // ========== Updates ==========
+
+    static RankTree insert(RankTree root, double key, String name) {
+        RankTree[] parts = split(root, key, name, false);
+        RankTree single = new RankTree(key, name, priorityOf(name), null, null);
+        return merge(merge(parts[0], single), parts[1]);
+    }
+
+    static RankTree remove(RankTree root, double key, String name) {
+        RankTree[] lower = split(root, key, name, false);
+        RankTree[] upper = split(lower[1], key, name, true);
+        return merge(lower[0], upper[1]);
+    }
+
+    /**
+     * Splits into pairs before (key, name) and the others. When
+     * {@code inclusive}, the pair itself goes to the first part.
+     */
+    private static RankTree[] split(RankTree node, double key, String name, boolean inclusive) {
+        if (node == null) {
+            return new RankTree[2];
+        }
+        int comparison = compare(node.key, node.name, key, name);
+        if (comparison < 0 || (inclusive && comparison == 0)) {
+            RankTree[] parts = split(node.right, key, name, inclusive);
+            parts[0] = node.with(node.left, parts[0]);
+            return parts;
+        }
+        RankTree[] parts = split(node.left, key, name, inclusive);
+        parts[1] = node.with(parts[1], node.right);
+        return parts;
+    }
+
+    /**
+     * Joins two trees where every pair of {@code a} is before those of {@code b}.
+     */
+    private static RankTree merge(RankTree a, RankTree b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority >= b.priority) {
+            return a.with(a.left, merge(a.right, b));
+        }
+        return b.with(merge(a, b.left), b.right);
+    }
+
+    /**
+     * Murmur3 finalizer of the name hash, so that similar names get
+     * unrelated priorities.
+     */
+    private static int priorityOf(String name) {
+        int h = name.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private static int compare(double key1, String name1, double key2, String name2) {
+        int comparison = Double.compare(key1, key2);
+        return comparison != 0 ? comparison : name1.compareTo(name2);
+    }
+}
@@ -0,0 +1,164 @@
+package model.simulation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+import model.entite.PlantParameters;
+import model.entite.PlantType;
+import model.entite.Residence;
+import model.entite.ResidenceCensus;
+
+/**
+ * Complete set of balancing parameters used by a simulation.
+ * Defaults come from the compile-time constants of each building class and
+ * can be overridden at runtime from a properties file such as:
+ * 
+ * <pre>
+ * coal.POWER_OUTPUT_GROWTH_RATE=1.50
+ * nuclear.UPGRADE_COST_MULTIPLIER=1.8
+ * residence.DEMAND_GROWTH_RATE=1.12
+ * rules.HAPPINESS_INERTIA=0.3
+ * </pre>
+ */
+public class SimulationParameters {
+
+    // ========== Class Variables (Static) ==========
+
+    public static final String RESIDENCE_PREFIX = "residence";
+    public static final String RULES_PREFIX = "rules";
+
+    // ========== Instance Variables ==========
+
+    private final String name;
+    private final Map<PlantType, PlantParameters> plantParameters;
+    private double demandGrowthRate;
+    private double purchasingPowerGrowthRate;
+    private final DayRules rules;
+
+    // ========== Constructor ==========
+
+    /**
+     * Creates a parameter set holding every default value.
+     * 
+     * @param name Name of the configuration (reported in sweep results)
+     */
+    public SimulationParameters(String name) {
+        this.name = name;
+        this.plantParameters = new EnumMap<>(PlantType.class);
+        for (PlantType type : PlantType.values()) {
+            plantParameters.put(type, new PlantParameters(type));
+        }
+        this.demandGrowthRate = Residence.DEMAND_GROWTH_RATE;
+        this.purchasingPowerGrowthRate = Residence.PURCHASING_POWER_GROWTH_RATE;
+        this.rules = new DayRules();
+    }
+
+    // ========== Getters ==========
+
+    public String getName() {
+        return name;
+    }
+
+    public PlantParameters getPlantParameters(PlantType type) {
+        return plantParameters.get(type);
+    }
+
+    public double getDemandGrowthRate() {
+        return demandGrowthRate;
+    }
+
+    public double getPurchasingPowerGrowthRate() {
+        return purchasingPowerGrowthRate;
+    }
+
+    public DayRules getRules() {
+        return rules;
+    }
+
+    // ========== Setters ==========
+
+    public void setDemandGrowthRate(double demandGrowthRate) {
+        this.demandGrowthRate = demandGrowthRate;
+    }
+
+    public void setPurchasingPowerGrowthRate(double purchasingPowerGrowthRate) {
+        this.purchasingPowerGrowthRate = purchasingPowerGrowthRate;
+    }
+
+    // ========== Loading Methods ==========
+
+    /**
+     * Overrides one parameter.
+     * 
+     * @param key   {@code <type>.<CONSTANT_NAME>}, type being a plant type key,
+     *              {@code residence} or {@code rules}
+     * @param value New value
+     * @throws IllegalArgumentException if the key is unknown
+     */
+    public void set(String key, String value) {
+        int dot = key.indexOf('.');
+        if (dot < 0) {
+            throw new IllegalArgumentException("Parameter key must be <type>.<NAME>: " + key);
+        }
+        String prefix = key.substring(0, dot);
+        String constant = key.substring(dot + 1);
+
+        if (RULES_PREFIX.equals(prefix)) {
+            rules.set(constant, value.trim());
+            return;
+        }
+        if (!RESIDENCE_PREFIX.equals(prefix)) {
+            plantParameters.get(PlantType.fromKey(prefix)).set(constant, value.trim());
+            return;
+        }
+        switch (constant) {
+            case "DEMAND_GROWTH_RATE":
+                this.demandGrowthRate = Double.parseDouble(value.trim());
+                break;
+            case "PURCHASING_POWER_GROWTH_RATE":
+                this.purchasingPowerGrowthRate = Double.parseDouble(value.trim());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown residence parameter: " + constant);
+        }
+    }
+
+    /**
+     * Applies the residence parameters to the census of a city.
+     * 
+     * @param census Census to configure
+     */
+    public void applyTo(ResidenceCensus census) {
+        census.setDemandGrowthRate(demandGrowthRate);
+        census.setPurchasingPowerGrowthRate(purchasingPowerGrowthRate);
+    }
+
+    /**
+     * Loads a configuration from a properties file.
+     * The configuration is named after the file, without extension.
+     * 
+     * @param path Properties file
+     * @return Defaults overridden by every entry of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static SimulationParameters load(Path path) throws IOException {
+        String fileName = path.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        SimulationParameters parameters = new SimulationParameters(dot > 0 ? fileName.substring(0, dot) : fileName);
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            parameters.set(key, properties.getProperty(key));
+        }
+        return parameters;
+    }
+}
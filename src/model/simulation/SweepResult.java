@@ -0,0 +1,137 @@
+package model.simulation;
+
+/**
+ * Summary of one seeded city simulated during a parameter sweep.
+ * Acts as a data container written as one CSV row.
+ */
+public class SweepResult {
+
+    public static final String CSV_HEADER =
+            "configuration,seed,residences,days,final_coins,final_happiness,final_pollution,"
+                    + "plants,blackout_days,total_revenue,total_operating_cost";
+
+    private final String configuration;
+    private final long seed;
+    private int residences;
+    private int days;
+    private double finalCoins;
+    private double finalHappiness;
+    private double finalPollution;
+    private int plants;
+    private int blackoutDays;
+    private double totalRevenue;
+    private double totalOperatingCost;
+
+    // ========== Constructor ==========
+
+    public SweepResult(String configuration, long seed) {
+        this.configuration = configuration;
+        this.seed = seed;
+    }
+
+    // ========== Getters ==========
+
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getResidences() {
+        return residences;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public double getFinalCoins() {
+        return finalCoins;
+    }
+
+    public double getFinalHappiness() {
+        return finalHappiness;
+    }
+
+    public double getFinalPollution() {
+        return finalPollution;
+    }
+
+    public int getPlants() {
+        return plants;
+    }
+
+    public int getBlackoutDays() {
+        return blackoutDays;
+    }
+
+    public double getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public double getTotalOperatingCost() {
+        return totalOperatingCost;
+    }
+
+    // ========== Setters ==========
+
+    public void setResidences(int residences) {
+        this.residences = residences;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public void setFinalCoins(double finalCoins) {
+        this.finalCoins = finalCoins;
+    }
+
+    public void setFinalHappiness(double finalHappiness) {
+        this.finalHappiness = finalHappiness;
+    }
+
+    public void setFinalPollution(double finalPollution) {
+        this.finalPollution = finalPollution;
+    }
+
+    public void setPlants(int plants) {
+        this.plants = plants;
+    }
+
+    public void setBlackoutDays(int blackoutDays) {
+        this.blackoutDays = blackoutDays;
+    }
+
+    public void setTotalRevenue(double totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+
+    public void setTotalOperatingCost(double totalOperatingCost) {
+        this.totalOperatingCost = totalOperatingCost;
+    }
+
+    // ========== Standard Methods ==========
+
+    /**
+     * @return This result as a CSV row matching {@link #CSV_HEADER}
+     */
+    public String toCsvRow() {
+        return configuration + ',' + seed + ',' + residences + ',' + days + ','
+                + finalCoins + ',' + finalHappiness + ',' + finalPollution + ','
+                + plants + ',' + blackoutDays + ',' + totalRevenue + ',' + totalOperatingCost;
+    }
+
+    @Override
+    public String toString() {
+        return "SweepResult{" +
+                "configuration='" + configuration + '\'' +
+                ", seed=" + seed +
+                ", finalCoins=" + finalCoins +
+                ", finalHappiness=" + finalHappiness +
+                ", blackoutDays=" + blackoutDays +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package model.sync;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Thread-safe pool of direct byte buffers grouped by power-of-two capacity.
+ * Encoders borrow a buffer per frame and give it back once it is sent,
+ * so steady-state encoding allocates nothing.
+ */
+public class ByteBufferPool {
+
+    // ========== Class Variables (Static) ==========
+
+    public static final int MIN_CAPACITY = 1 << 10; // 1 KiB
+    public static final int MAX_POOLED_PER_SIZE = 16;
+
+    // ========== Instance Variables ==========
+
+    /**
+     * Free buffers (index = log2 of the capacity).
+     */
+    private final ConcurrentLinkedQueue<ByteBuffer>[] buckets;
+
+    // ========== Constructor ==========
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public ByteBufferPool() {
+        this.buckets = new ConcurrentLinkedQueue[Integer.SIZE];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    // ========== Pool Methods ==========
+
+    /**
+     * Borrows a cleared buffer.
+     * 
+     * @param minCapacity Minimum capacity needed
+     * @return Buffer of at least this capacity, positioned at 0
+     */
+    public ByteBuffer acquire(int minCapacity) {
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, minCapacity - 1)) << 1);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Buffer too large: " + minCapacity);
+        }
+        ByteBuffer buffer = buckets[Integer.numberOfTrailingZeros(capacity)].poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(capacity);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Gives a buffer back to the pool. The caller must not use it afterwards.
+     * 
+     * @param buffer Buffer obtained from {@link #acquire(int)}
+     */
+    public void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (Integer.bitCount(capacity) != 1 || capacity < MIN_CAPACITY) {
+            return; // Not one of ours
+        }
+        ConcurrentLinkedQueue<ByteBuffer> bucket = buckets[Integer.numberOfTrailingZeros(capacity)];
+        if (bucket.size() < MAX_POOLED_PER_SIZE) {
+            bucket.offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package model.sync;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.entite.City;
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+import model.entite.ResidenceCensus;
+
+/**
+ * Reads a city written by {@link CityJsonWriter}, pulling one building at a
+ * time from the channel into presized collections.
+ * Fields may come in any order, except the {@code type} that must open each
+ * plant object, and unknown fields are skipped. The daily
+ * demand and purchasing power of residences are not read back: they are
+ * derived from the census seed, the residence id and the day.
+ */
+public class CityJsonReader {
+
+    // ========== Class Variables (Static) ==========
+
+    /**
+     * Largest building count trusted for presizing. Counts are hints: the
+     * arrays decide how many buildings are read, and larger cities simply
+     * grow their lists while reading.
+     */
+    public static final int MAX_PRESIZE = 1 << 16;
+
+    // ========== Instance Variables ==========
+
+    private final ByteBufferPool pool;
+
+    // ========== Constructor ==========
+
+    public CityJsonReader() {
+        this(new ByteBufferPool());
+    }
+
+    /**
+     * @param pool Source of the input buffer, shared with other readers
+     */
+    public CityJsonReader(ByteBufferPool pool) {
+        this.pool = pool;
+    }
+
+    // ========== Reading Methods ==========
+
+    /**
+     * Reads a whole city. The channel is left open.
+     * 
+     * @param channel Source of the JSON document
+     * @return The imported city
+     * @throws IOException              if the channel fails
+     * @throws IllegalArgumentException if the document is not a valid city
+     */
+    public City read(ReadableByteChannel channel) throws IOException {
+        try (JsonReader in = new JsonReader(channel, pool)) {
+            City city = new City(null, 0.0);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "formatVersion":
+                        int version = in.nextInt();
+                        if (version > CityJsonWriter.FORMAT_VERSION) {
+                            throw new IllegalArgumentException("Unsupported city format version: " + version);
+                        }
+                        break;
+                    case "name":
+                        city.setName(in.nextString());
+                        break;
+                    case "currentDay":
+                        city.setCurrentDay(in.nextInt());
+                        break;
+                    case "totalCoins":
+                        city.setTotalCoins(in.nextDouble());
+                        break;
+                    case "electricityPrice":
+                        city.setElectricityPrice(in.nextDouble());
+                        break;
+                    case "globalHappiness":
+                        city.setGlobalHappiness(in.nextDouble());
+                        break;
+                    case "totalPopulation":
+                        city.setTotalPopulation(in.nextInt());
+                        break;
+                    case "totalPollution":
+                        city.setTotalPollution(in.nextDouble());
+                        break;
+                    case "totalEnergyAvailable":
+                        city.setTotalEnergyAvailable(in.nextDouble());
+                        break;
+                    case "totalStorageCapacity":
+                        city.setTotalStorageCapacity(in.nextDouble());
+                        break;
+                    case "totalEnergyDemand":
+                        city.setTotalEnergyDemand(in.nextDouble());
+                        break;
+                    case "avgPurchasingPower":
+                        city.setAvgPurchasingPower(in.nextDouble());
+                        break;
+                    case "census":
+                        readCensus(in, city.getResidenceCensus());
+                        break;
+                    case "plantSerial":
+                        city.setPlantSerial(in.nextInt()); // Never below the plant count
+                        break;
+                    case "powerPlantCount":
+                        List<PowerPlant> plants = city.getPowerPlants();
+                        int plantCount = readCountHint(in, name);
+                        if (plants instanceof ArrayList) {
+                            ((ArrayList<PowerPlant>) plants).ensureCapacity(plantCount);
+                        }
+                        break;
+                    case "powerPlants":
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            city.addPowerPlant(readPlant(in));
+                        }
+                        in.endArray();
+                        break;
+                    case "residenceCount":
+                        city.ensureResidenceCapacity(readCountHint(in, name));
+                        break;
+                    case "residences":
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            city.addResidence(readResidence(in));
+                        }
+                        in.endArray();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            if (in.peek() != JsonReader.Token.END_DOCUMENT) {
+                throw new IllegalArgumentException("Content after the city");
+            }
+            city.clearDirtyFields();
+            return city;
+        }
+    }
+
+    /**
+     * @return The count, capped at {@link #MAX_PRESIZE}
+     * @throws IllegalArgumentException if the count is negative
+     */
+    private static int readCountHint(JsonReader in, String name) throws IOException {
+        int count = in.nextInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative " + name + ": " + count);
+        }
+        return Math.min(count, MAX_PRESIZE);
+    }
+
+    private static void readCensus(JsonReader in, ResidenceCensus census) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "seed":
+                    String seed = in.nextString();
+                    try {
+                        census.setSeed(Long.parseLong(seed));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid census seed: " + seed);
+                    }
+                    break;
+                case "demandGrowthRate":
+                    census.setDemandGrowthRate(in.nextDouble());
+                    break;
+                case "purchasingPowerGrowthRate":
+                    census.setPurchasingPowerGrowthRate(in.nextDouble());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+    }
+
+    /**
+     * The type decides the plant class, so it must be the first field, as
+     * written by {@link CityJsonWriter}. Other fields may come in any order.
+     */
+    private static PowerPlant readPlant(JsonReader in) throws IOException {
+        in.beginObject();
+        if (!in.hasNext() || !"type".equals(in.nextName())) {
+            throw new IllegalArgumentException("Power plant without a leading \"type\"");
+        }
+        PowerPlant plant = PlantType.fromKey(in.nextString()).create(null);
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    plant.setId(in.nextString());
+                    break;
+                case "level":
+                    plant.setLevel(in.nextInt());
+                    break;
+                case "maxLevel":
+                    plant.setMaxLevel(in.nextInt());
+                    break;
+                case "x":
+                    plant.setX(in.nextInt());
+                    break;
+                case "y":
+                    plant.setY(in.nextInt());
+                    break;
+                case "status":
+                    String status = in.nextString();
+                    try {
+                        plant.setStatus(PlantStatus.valueOf(status));
+                    } catch (IllegalArgumentException | NullPointerException e) {
+                        throw new IllegalArgumentException("Unknown plant status: " + status);
+                    }
+                    break;
+                case "powerOutput":
+                    plant.setPowerOutput(in.nextDouble());
+                    break;
+                case "storageCapacity":
+                    plant.setStorageCapacity(in.nextDouble());
+                    break;
+                case "currentEnergyStored":
+                    plant.setCurrentEnergyStored(in.nextDouble());
+                    break;
+                case "dailyCost":
+                    plant.setDailyCost(in.nextDouble());
+                    break;
+                case "pollutionRate":
+                    plant.setPollutionRate(in.nextDouble());
+                    break;
+                case "upgradeCost":
+                    plant.setUpgradeCost(in.nextDouble());
+                    break;
+                case "upgradeTime":
+                    plant.setUpgradeTime(in.nextInt());
+                    break;
+                case "remainingTime":
+                    plant.setRemainingTime(in.nextInt());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        plant.clearDirtyFields();
+        return plant;
+    }
+
+    private static Residence readResidence(JsonReader in) throws IOException {
+        Residence residence = new Residence(null);
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    residence.setId(in.nextString());
+                    break;
+                case "level":
+                    residence.setLevel(in.nextInt());
+                    break;
+                case "maxLevel":
+                    residence.setMaxLevel(in.nextInt());
+                    break;
+                case "x":
+                    residence.setX(in.nextInt());
+                    break;
+                case "y":
+                    residence.setY(in.nextInt());
+                    break;
+                case "maxCapacity":
+                    residence.setMaxCapacity(in.nextInt());
+                    break;
+                case "currentOccupancy":
+                    residence.setCurrentOccupancy(in.nextInt());
+                    break;
+                case "supplied":
+                    residence.setSupplied(in.nextBoolean());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        residence.clearDirtyFields();
+        return residence;
+    }
+}
@@ -0,0 +1,133 @@
+package model.sync;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+import model.entite.City;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+import model.entite.ResidenceCensus;
+
+/**
+ * Streams a city as JSON to a channel, straight from its building lists.
+ * Building counts are written before their arrays so that
+ * {@link CityJsonReader} can presize its collections.
+ * Plants carry their type key, always as their first field since it decides
+ * the class the reader creates, and their status; residences only their
+ * persistent state, since their daily demand and purchasing power are
+ * derived from the census on import. The plant id counter is kept so that
+ * ids stay unique after an import.
+ */
+public class CityJsonWriter {
+
+    // ========== Class Variables (Static) ==========
+
+    /**
+     * Version of the document layout, written in every document.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    // ========== Instance Variables ==========
+
+    private final ByteBufferPool pool;
+
+    // ========== Constructor ==========
+
+    public CityJsonWriter() {
+        this(new ByteBufferPool());
+    }
+
+    /**
+     * @param pool Source of the output buffer, shared with other writers
+     */
+    public CityJsonWriter(ByteBufferPool pool) {
+        this.pool = pool;
+    }
+
+    // ========== Writing Methods ==========
+
+    /**
+     * Writes a whole city. The channel is left open.
+     * 
+     * @param city    City to export
+     * @param channel Destination of the JSON document
+     * @throws IOException if the channel fails
+     */
+    public void write(City city, WritableByteChannel channel) throws IOException {
+        try (JsonWriter out = new JsonWriter(channel, pool)) {
+            out.beginObject();
+            out.name("formatVersion").value(FORMAT_VERSION);
+            out.name("name").value(city.getName());
+            out.name("currentDay").value(city.getCurrentDay());
+            out.name("totalCoins").value(city.getTotalCoins());
+            out.name("electricityPrice").value(city.getElectricityPrice());
+            out.name("globalHappiness").value(city.getGlobalHappiness());
+            out.name("totalPopulation").value(city.getTotalPopulation());
+            out.name("totalPollution").value(city.getTotalPollution());
+            out.name("totalEnergyAvailable").value(city.getTotalEnergyAvailable());
+            out.name("totalStorageCapacity").value(city.getTotalStorageCapacity());
+            out.name("totalEnergyDemand").value(city.getTotalEnergyDemand());
+            out.name("avgPurchasingPower").value(city.getAvgPurchasingPower());
+
+            ResidenceCensus census = city.getResidenceCensus();
+            out.name("census").beginObject();
+            // As a string: JavaScript numbers lose precision beyond 2^53
+            out.name("seed").value(Long.toString(census.getSeed()));
+            out.name("demandGrowthRate").value(census.getDemandGrowthRate());
+            out.name("purchasingPowerGrowthRate").value(census.getPurchasingPowerGrowthRate());
+            out.endObject();
+
+            List<PowerPlant> plants = city.getPowerPlants();
+            out.name("plantSerial").value(city.getPlantSerial());
+            out.name("powerPlantCount").value(plants.size());
+            out.name("powerPlants").beginArray();
+            for (PowerPlant plant : plants) {
+                writePlant(out, plant);
+            }
+            out.endArray();
+
+            List<Residence> residences = city.getResidences();
+            out.name("residenceCount").value(residences.size());
+            out.name("residences").beginArray();
+            for (Residence residence : residences) {
+                writeResidence(out, residence);
+            }
+            out.endArray();
+            out.endObject();
+        }
+    }
+
+    private static void writePlant(JsonWriter out, PowerPlant plant) throws IOException {
+        out.beginObject();
+        out.name("type").value(plant.getType().getKey()); // First: read before the plant exists
+        out.name("id").value(plant.getId());
+        out.name("level").value(plant.getLevel());
+        out.name("maxLevel").value(plant.getMaxLevel());
+        out.name("x").value(plant.getX());
+        out.name("y").value(plant.getY());
+        out.name("status").value(plant.getStatus().name());
+        out.name("powerOutput").value(plant.getPowerOutput());
+        out.name("storageCapacity").value(plant.getStorageCapacity());
+        out.name("currentEnergyStored").value(plant.getCurrentEnergyStored());
+        out.name("dailyCost").value(plant.getDailyCost());
+        out.name("pollutionRate").value(plant.getPollutionRate());
+        out.name("upgradeCost").value(plant.getUpgradeCost());
+        out.name("upgradeTime").value(plant.getUpgradeTime());
+        out.name("remainingTime").value(plant.getRemainingTime());
+        out.endObject();
+    }
+
+    private static void writeResidence(JsonWriter out, Residence residence) throws IOException {
+        out.beginObject();
+        out.name("id").value(residence.getId());
+        out.name("level").value(residence.getLevel());
+        out.name("maxLevel").value(residence.getMaxLevel());
+        out.name("x").value(residence.getX());
+        out.name("y").value(residence.getY());
+        out.name("maxCapacity").value(residence.getMaxCapacity());
+        out.name("currentOccupancy").value(residence.getCurrentOccupancy());
+        out.name("supplied").value(residence.isSupplied());
+        out.endObject();
+    }
+}
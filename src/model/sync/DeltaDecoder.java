@@ -0,0 +1,280 @@
+package model.sync;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.entite.Building;
+import model.entite.City;
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+import model.entite.ResidenceCensus;
+
+/**
+ * Applies frames produced by {@link DeltaEncoder} to a client-side mirror
+ * of the city. The mirror's dirty masks are cleared after each frame.
+ */
+public class DeltaDecoder {
+
+    private static final PlantType[] PLANT_TYPES = PlantType.values();
+    private static final PlantStatus[] PLANT_STATUSES = PlantStatus.values();
+
+    // ========== Decoding Methods ==========
+
+    /**
+     * Applies one frame to a mirror city.
+     * 
+     * @param frame  Frame, read from its position to its limit
+     * @param mirror City updated in place
+     * @throws IllegalArgumentException if the frame is malformed, truncated
+     *                                  or does not follow the mirror's state
+     */
+    public void apply(ByteBuffer frame, City mirror) {
+        ByteBuffer in = frame.slice().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            readFrame(in, mirror);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated frame", e);
+        }
+    }
+
+    private static void readFrame(ByteBuffer in, City mirror) {
+
+        byte kind = in.get();
+        if (kind == DeltaEncoder.FULL_FRAME) {
+            mirror.setPowerPlants(new ArrayList<>());
+            mirror.setResidences(new ArrayList<>());
+        } else if (kind != DeltaEncoder.DELTA_FRAME) {
+            throw new IllegalArgumentException("Unknown frame kind: " + kind);
+        }
+
+        readCityFields(in, mirror, readUnsignedVarLong(in));
+
+        if (in.get() != 0) {
+            ResidenceCensus census = mirror.getResidenceCensus();
+            census.setSeed(in.getLong());
+            census.setDemandGrowthRate(in.getDouble());
+            census.setPurchasingPowerGrowthRate(in.getDouble());
+        }
+
+        List<PowerPlant> plants = mirror.getPowerPlants();
+        int plantCount = (int) readUnsignedVarLong(in);
+        int entries = in.getInt();
+        for (int e = 0; e < entries; e++) {
+            int index = (int) readUnsignedVarLong(in);
+            PowerPlant plant;
+            if (index == plants.size()) {
+                plant = PLANT_TYPES[readOrdinal(in, PLANT_TYPES.length, "plant type")].create(null);
+                mirror.addPowerPlant(plant);
+            } else if (index < plants.size()) {
+                plant = plants.get(index);
+            } else {
+                throw new IllegalArgumentException("Plant " + index + " sent before plant " + plants.size());
+            }
+            readPlantFields(in, plant, readUnsignedVarLong(in));
+            plant.clearDirtyFields();
+        }
+        checkCount("plants", plantCount, plants.size());
+
+        List<Residence> residences = mirror.getResidences();
+        int residenceCount = (int) readUnsignedVarLong(in);
+        if (residences instanceof ArrayList) {
+            // Every entry takes at least one byte, which bounds a corrupt count
+            ((ArrayList<Residence>) residences).ensureCapacity(Math.min(residenceCount, in.remaining()));
+        }
+        entries = in.getInt();
+        for (int e = 0; e < entries; e++) {
+            int index = (int) readUnsignedVarLong(in);
+            Residence residence;
+            if (index == residences.size()) {
+                residence = new Residence(null);
+                mirror.addResidence(residence);
+            } else if (index < residences.size()) {
+                residence = residences.get(index);
+            } else {
+                throw new IllegalArgumentException(
+                        "Residence " + index + " sent before residence " + residences.size());
+            }
+            readResidenceFields(in, residence, readUnsignedVarLong(in));
+            residence.clearDirtyFields();
+        }
+        checkCount("residences", residenceCount, residences.size());
+
+        mirror.clearDirtyFields();
+    }
+
+    private static void checkCount(String what, int expected, int actual) {
+        if (expected != actual) {
+            throw new IllegalArgumentException("Frame expects " + expected + " " + what + ", mirror has " + actual);
+        }
+    }
+
+    private static void readCityFields(ByteBuffer in, City city, long mask) {
+        if ((mask & City.FIELD_NAME) != 0) {
+            city.setName(readString(in));
+        }
+        if ((mask & City.FIELD_CURRENT_DAY) != 0) {
+            city.setCurrentDay(readVarInt(in));
+        }
+        if ((mask & City.FIELD_TOTAL_COINS) != 0) {
+            city.setTotalCoins(in.getDouble());
+        }
+        if ((mask & City.FIELD_ELECTRICITY_PRICE) != 0) {
+            city.setElectricityPrice(in.getDouble());
+        }
+        if ((mask & City.FIELD_GLOBAL_HAPPINESS) != 0) {
+            city.setGlobalHappiness(in.getDouble());
+        }
+        if ((mask & City.FIELD_TOTAL_POPULATION) != 0) {
+            city.setTotalPopulation(readVarInt(in));
+        }
+        if ((mask & City.FIELD_TOTAL_POLLUTION) != 0) {
+            city.setTotalPollution(in.getDouble());
+        }
+        if ((mask & City.FIELD_TOTAL_ENERGY_AVAILABLE) != 0) {
+            city.setTotalEnergyAvailable(in.getDouble());
+        }
+        if ((mask & City.FIELD_TOTAL_STORAGE_CAPACITY) != 0) {
+            city.setTotalStorageCapacity(in.getDouble());
+        }
+        if ((mask & City.FIELD_TOTAL_ENERGY_DEMAND) != 0) {
+            city.setTotalEnergyDemand(in.getDouble());
+        }
+        if ((mask & City.FIELD_AVG_PURCHASING_POWER) != 0) {
+            city.setAvgPurchasingPower(in.getDouble());
+        }
+    }
+
+    private static void readBuildingFields(ByteBuffer in, Building building, long mask) {
+        if ((mask & Building.FIELD_ID) != 0) {
+            building.setId(readString(in));
+        }
+        if ((mask & Building.FIELD_LEVEL) != 0) {
+            building.setLevel(readVarInt(in));
+        }
+        if ((mask & Building.FIELD_MAX_LEVEL) != 0) {
+            building.setMaxLevel(readVarInt(in));
+        }
+        if ((mask & Building.FIELD_X) != 0) {
+            building.setX(readVarInt(in));
+        }
+        if ((mask & Building.FIELD_Y) != 0) {
+            building.setY(readVarInt(in));
+        }
+    }
+
+    private static void readPlantFields(ByteBuffer in, PowerPlant plant, long mask) {
+        readBuildingFields(in, plant, mask);
+        if ((mask & PowerPlant.FIELD_STATUS) != 0) {
+            plant.setStatus(PLANT_STATUSES[readOrdinal(in, PLANT_STATUSES.length, "plant status")]);
+        }
+        if ((mask & PowerPlant.FIELD_POWER_OUTPUT) != 0) {
+            plant.setPowerOutput(in.getDouble());
+        }
+        if ((mask & PowerPlant.FIELD_STORAGE_CAPACITY) != 0) {
+            plant.setStorageCapacity(in.getDouble());
+        }
+        if ((mask & PowerPlant.FIELD_CURRENT_ENERGY_STORED) != 0) {
+            plant.setCurrentEnergyStored(in.getDouble());
+        }
+        if ((mask & PowerPlant.FIELD_DAILY_COST) != 0) {
+            plant.setDailyCost(in.getDouble());
+        }
+        if ((mask & PowerPlant.FIELD_POLLUTION_RATE) != 0) {
+            plant.setPollutionRate(in.getDouble());
+        }
+        if ((mask & PowerPlant.FIELD_UPGRADE_COST) != 0) {
+            plant.setUpgradeCost(in.getDouble());
+        }
+        if ((mask & PowerPlant.FIELD_UPGRADE_TIME) != 0) {
+            plant.setUpgradeTime(readVarInt(in));
+        }
+        if ((mask & PowerPlant.FIELD_REMAINING_TIME) != 0) {
+            plant.setRemainingTime(readVarInt(in));
+        }
+    }
+
+    private static void readResidenceFields(ByteBuffer in, Residence residence, long mask) {
+        readBuildingFields(in, residence, mask);
+        if ((mask & Residence.FIELD_MAX_CAPACITY) != 0) {
+            residence.setMaxCapacity(readVarInt(in));
+        }
+        if ((mask & Residence.FIELD_CURRENT_OCCUPANCY) != 0) {
+            residence.setCurrentOccupancy(readVarInt(in));
+        }
+        if ((mask & Residence.FIELD_ENERGY_DEMAND) != 0) {
+            residence.setEnergyDemand(in.getDouble());
+        }
+        if ((mask & Residence.FIELD_ENERGY_DEMAND_MIN) != 0) {
+            residence.setEnergyDemandMin(in.getDouble());
+        }
+        if ((mask & Residence.FIELD_ENERGY_DEMAND_MAX) != 0) {
+            residence.setEnergyDemandMax(in.getDouble());
+        }
+        if ((mask & Residence.FIELD_PURCHASING_POWER) != 0) {
+            residence.setPurchasingPower(in.getDouble());
+        }
+        if ((mask & Residence.FIELD_PURCHASING_POWER_MIN) != 0) {
+            residence.setPurchasingPowerMin(in.getDouble());
+        }
+        if ((mask & Residence.FIELD_PURCHASING_POWER_MAX) != 0) {
+            residence.setPurchasingPowerMax(in.getDouble());
+        }
+        if ((mask & Residence.FIELD_SUPPLIED) != 0) {
+            residence.setSupplied(in.get() != 0);
+        }
+    }
+
+    // ========== Primitive Readers ==========
+
+    /**
+     * @param count Number of constants of the enum
+     * @return Ordinal read as an unsigned byte
+     * @throws IllegalArgumentException if it is not an ordinal of the enum
+     */
+    static int readOrdinal(ByteBuffer in, int count, String what) {
+        int ordinal = in.get() & 0xFF;
+        if (ordinal >= count) {
+            throw new IllegalArgumentException("Unknown " + what + ": " + ordinal);
+        }
+        return ordinal;
+    }
+
+    static long readUnsignedVarLong(ByteBuffer in) {
+        long value = 0L;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift >= Long.SIZE) {
+                throw new IllegalArgumentException("Malformed varint");
+            }
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static int readVarInt(ByteBuffer in) {
+        int raw = (int) readUnsignedVarLong(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    static String readString(ByteBuffer in) {
+        long length = readUnsignedVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > in.remaining()) {
+            throw new IllegalArgumentException("String of " + (length - 1) + " bytes past the end of the frame");
+        }
+        byte[] bytes = new byte[(int) length - 1];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,298 @@
+package model.sync;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import model.entite.Building;
+import model.entite.City;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+import model.entite.ResidenceCensus;
+
+/**
+ * Encodes the changes of a city since the previous frame.
+ * Only the fields flagged dirty by the setters are written, for the
+ * buildings that have any; the dirty masks are cleared once encoded.
+ * Residence daily fluctuations are only sent once overridden: clients
+ * recompute them from the census seed and the current day.
+ * 
+ * <pre>
+ * byte    frame kind ({@link #FULL_FRAME} or {@link #DELTA_FRAME})
+ * varint  city mask, then the flagged city fields in bit order
+ * byte    1 if census parameters follow: long seed, double demand growth
+ *         rate, double purchasing power growth rate
+ * varint  number of plants in the city
+ * int     number of plant entries, then per entry: varint index,
+ *         byte type ordinal (new plants only), varint mask, fields
+ * varint  number of residences in the city
+ * int     number of residence entries, then per entry: varint index,
+ *         varint mask, fields
+ * </pre>
+ * 
+ * One encoder serves one stream of frames: every client of the stream must
+ * start from a full frame. Encoders are not thread-safe.
+ */
+public class DeltaEncoder {
+
+    // ========== Class Variables (Static) ==========
+
+    public static final byte FULL_FRAME = 0;
+    public static final byte DELTA_FRAME = 1;
+
+    public static final long ALL_CITY_FIELDS = (City.FIELD_AVG_PURCHASING_POWER << 1) - 1;
+    public static final long ALL_PLANT_FIELDS = (PowerPlant.FIELD_REMAINING_TIME << 1) - 1;
+
+    /**
+     * Fields sent for a new residence, along with the daily values that
+     * differ from those derived from the census (see
+     * {@link Residence#getOverriddenFields()}).
+     */
+    public static final long NEW_RESIDENCE_FIELDS = Building.FIELD_ID | Building.FIELD_LEVEL
+            | Building.FIELD_MAX_LEVEL | Building.FIELD_X | Building.FIELD_Y | Residence.FIELD_MAX_CAPACITY
+            | Residence.FIELD_CURRENT_OCCUPANCY | Residence.FIELD_SUPPLIED;
+
+    private static final int INITIAL_FRAME_CAPACITY = 4096;
+
+    // ========== Instance Variables ==========
+
+    private final ByteBufferPool pool;
+    private boolean fullFrameNeeded;
+    private int syncedPlantCount;
+    private int syncedResidenceCount;
+    private long syncedStructureVersion;
+
+    // Census parameters last sent
+    private long syncedSeed;
+    private double syncedDemandGrowthRate;
+    private double syncedPurchasingPowerGrowthRate;
+
+    // ========== Constructor ==========
+
+    public DeltaEncoder(ByteBufferPool pool) {
+        this.pool = pool;
+        this.fullFrameNeeded = true;
+    }
+
+    // ========== Encoding Methods ==========
+
+    /**
+     * Forces the next frame to be a full frame (e.g. when a client joins).
+     */
+    public void requestFullFrame() {
+        fullFrameNeeded = true;
+    }
+
+    /**
+     * Encodes everything that changed since the previous frame.
+     * Falls back to a full frame for the first frame or when buildings were
+     * removed, replaced or reordered (see {@link City#getStructureVersion()}),
+     * since entries only carry their index.
+     * 
+     * @param city City to encode
+     * @return Flipped frame, to be released to the pool once sent
+     */
+    public ByteBuffer encode(City city) {
+        List<PowerPlant> plants = city.getPowerPlants();
+        List<Residence> residences = city.getResidences();
+        boolean full = fullFrameNeeded
+                || city.getStructureVersion() != syncedStructureVersion
+                || plants.size() < syncedPlantCount
+                || residences.size() < syncedResidenceCount;
+        if (full) {
+            syncedPlantCount = 0;
+            syncedResidenceCount = 0;
+        }
+
+        FrameWriter out = new FrameWriter(pool, INITIAL_FRAME_CAPACITY);
+        out.writeByte(full ? FULL_FRAME : DELTA_FRAME);
+
+        long cityMask = full ? ALL_CITY_FIELDS : city.getDirtyFields();
+        out.writeUnsignedVarLong(cityMask);
+        writeCityFields(out, city, cityMask);
+        city.clearDirtyFields();
+
+        writeCensus(out, city.getResidenceCensus(), full);
+
+        out.writeUnsignedVarLong(plants.size());
+        int countPosition = out.position();
+        out.writeFixedInt(0);
+        int entries = 0;
+        for (int i = 0; i < plants.size(); i++) {
+            PowerPlant plant = plants.get(i);
+            boolean isNew = i >= syncedPlantCount;
+            long mask = isNew ? ALL_PLANT_FIELDS : plant.getDirtyFields();
+            if (mask == 0L) {
+                continue;
+            }
+            out.writeUnsignedVarLong(i);
+            if (isNew) {
+                out.writeByte(plant.getType().ordinal());
+            }
+            out.writeUnsignedVarLong(mask);
+            writePlantFields(out, plant, mask);
+            plant.clearDirtyFields();
+            entries++;
+        }
+        out.patchFixedInt(countPosition, entries);
+
+        out.writeUnsignedVarLong(residences.size());
+        countPosition = out.position();
+        out.writeFixedInt(0);
+        entries = 0;
+        for (int i = 0; i < residences.size(); i++) {
+            Residence residence = residences.get(i);
+            long mask = residence.getDirtyFields();
+            if (i >= syncedResidenceCount) {
+                mask |= NEW_RESIDENCE_FIELDS | residence.getOverriddenFields();
+            }
+            if (mask == 0L) {
+                continue;
+            }
+            out.writeUnsignedVarLong(i);
+            out.writeUnsignedVarLong(mask);
+            writeResidenceFields(out, residence, mask);
+            residence.clearDirtyFields();
+            entries++;
+        }
+        out.patchFixedInt(countPosition, entries);
+
+        syncedPlantCount = plants.size();
+        syncedResidenceCount = residences.size();
+        syncedStructureVersion = city.getStructureVersion();
+        fullFrameNeeded = false;
+        return out.finish();
+    }
+
+    private void writeCensus(FrameWriter out, ResidenceCensus census, boolean full) {
+        boolean changed = full
+                || census.getSeed() != syncedSeed
+                || census.getDemandGrowthRate() != syncedDemandGrowthRate
+                || census.getPurchasingPowerGrowthRate() != syncedPurchasingPowerGrowthRate;
+        out.writeByte(changed ? 1 : 0);
+        if (!changed) {
+            return;
+        }
+        syncedSeed = census.getSeed();
+        syncedDemandGrowthRate = census.getDemandGrowthRate();
+        syncedPurchasingPowerGrowthRate = census.getPurchasingPowerGrowthRate();
+        out.writeLong(syncedSeed);
+        out.writeDouble(syncedDemandGrowthRate);
+        out.writeDouble(syncedPurchasingPowerGrowthRate);
+    }
+
+    private static void writeCityFields(FrameWriter out, City city, long mask) {
+        if ((mask & City.FIELD_NAME) != 0) {
+            out.writeString(city.getName());
+        }
+        if ((mask & City.FIELD_CURRENT_DAY) != 0) {
+            out.writeVarInt(city.getCurrentDay());
+        }
+        if ((mask & City.FIELD_TOTAL_COINS) != 0) {
+            out.writeDouble(city.getTotalCoins());
+        }
+        if ((mask & City.FIELD_ELECTRICITY_PRICE) != 0) {
+            out.writeDouble(city.getElectricityPrice());
+        }
+        if ((mask & City.FIELD_GLOBAL_HAPPINESS) != 0) {
+            out.writeDouble(city.getGlobalHappiness());
+        }
+        if ((mask & City.FIELD_TOTAL_POPULATION) != 0) {
+            out.writeVarInt(city.getTotalPopulation());
+        }
+        if ((mask & City.FIELD_TOTAL_POLLUTION) != 0) {
+            out.writeDouble(city.getTotalPollution());
+        }
+        if ((mask & City.FIELD_TOTAL_ENERGY_AVAILABLE) != 0) {
+            out.writeDouble(city.getTotalEnergyAvailable());
+        }
+        if ((mask & City.FIELD_TOTAL_STORAGE_CAPACITY) != 0) {
+            out.writeDouble(city.getTotalStorageCapacity());
+        }
+        if ((mask & City.FIELD_TOTAL_ENERGY_DEMAND) != 0) {
+            out.writeDouble(city.getTotalEnergyDemand());
+        }
+        if ((mask & City.FIELD_AVG_PURCHASING_POWER) != 0) {
+            out.writeDouble(city.getAvgPurchasingPower());
+        }
+    }
+
+    private static void writeBuildingFields(FrameWriter out, Building building, long mask) {
+        if ((mask & Building.FIELD_ID) != 0) {
+            out.writeString(building.getId());
+        }
+        if ((mask & Building.FIELD_LEVEL) != 0) {
+            out.writeVarInt(building.getLevel());
+        }
+        if ((mask & Building.FIELD_MAX_LEVEL) != 0) {
+            out.writeVarInt(building.getMaxLevel());
+        }
+        if ((mask & Building.FIELD_X) != 0) {
+            out.writeVarInt(building.getX());
+        }
+        if ((mask & Building.FIELD_Y) != 0) {
+            out.writeVarInt(building.getY());
+        }
+    }
+
+    private static void writePlantFields(FrameWriter out, PowerPlant plant, long mask) {
+        writeBuildingFields(out, plant, mask);
+        if ((mask & PowerPlant.FIELD_STATUS) != 0) {
+            out.writeByte(plant.getStatus().ordinal());
+        }
+        if ((mask & PowerPlant.FIELD_POWER_OUTPUT) != 0) {
+            out.writeDouble(plant.getPowerOutput());
+        }
+        if ((mask & PowerPlant.FIELD_STORAGE_CAPACITY) != 0) {
+            out.writeDouble(plant.getStorageCapacity());
+        }
+        if ((mask & PowerPlant.FIELD_CURRENT_ENERGY_STORED) != 0) {
+            out.writeDouble(plant.getCurrentEnergyStored());
+        }
+        if ((mask & PowerPlant.FIELD_DAILY_COST) != 0) {
+            out.writeDouble(plant.getDailyCost());
+        }
+        if ((mask & PowerPlant.FIELD_POLLUTION_RATE) != 0) {
+            out.writeDouble(plant.getPollutionRate());
+        }
+        if ((mask & PowerPlant.FIELD_UPGRADE_COST) != 0) {
+            out.writeDouble(plant.getUpgradeCost());
+        }
+        if ((mask & PowerPlant.FIELD_UPGRADE_TIME) != 0) {
+            out.writeVarInt(plant.getUpgradeTime());
+        }
+        if ((mask & PowerPlant.FIELD_REMAINING_TIME) != 0) {
+            out.writeVarInt(plant.getRemainingTime());
+        }
+    }
+
+    private static void writeResidenceFields(FrameWriter out, Residence residence, long mask) {
+        writeBuildingFields(out, residence, mask);
+        if ((mask & Residence.FIELD_MAX_CAPACITY) != 0) {
+            out.writeVarInt(residence.getMaxCapacity());
+        }
+        if ((mask & Residence.FIELD_CURRENT_OCCUPANCY) != 0) {
+            out.writeVarInt(residence.getCurrentOccupancy());
+        }
+        if ((mask & Residence.FIELD_ENERGY_DEMAND) != 0) {
+            out.writeDouble(residence.getEnergyDemand());
+        }
+        if ((mask & Residence.FIELD_ENERGY_DEMAND_MIN) != 0) {
+            out.writeDouble(residence.getEnergyDemandMin());
+        }
+        if ((mask & Residence.FIELD_ENERGY_DEMAND_MAX) != 0) {
+            out.writeDouble(residence.getEnergyDemandMax());
+        }
+        if ((mask & Residence.FIELD_PURCHASING_POWER) != 0) {
+            out.writeDouble(residence.getPurchasingPower());
+        }
+        if ((mask & Residence.FIELD_PURCHASING_POWER_MIN) != 0) {
+            out.writeDouble(residence.getPurchasingPowerMin());
+        }
+        if ((mask & Residence.FIELD_PURCHASING_POWER_MAX) != 0) {
+            out.writeDouble(residence.getPurchasingPowerMax());
+        }
+        if ((mask & Residence.FIELD_SUPPLIED) != 0) {
+            out.writeByte(residence.isSupplied() ? 1 : 0);
+        }
+    }
+}
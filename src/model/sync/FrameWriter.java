@@ -0,0 +1,97 @@
+package model.sync;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Growable binary writer over pooled buffers.
+ * Integers are written as zigzag varints, doubles as raw little-endian
+ * IEEE 754 values and strings as a varint length followed by UTF-8 bytes.
+ */
+class FrameWriter {
+
+    private final ByteBufferPool pool;
+    private ByteBuffer buffer;
+
+    FrameWriter(ByteBufferPool pool, int initialCapacity) {
+        this.pool = pool;
+        this.buffer = pool.acquire(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    void writeByte(int value) {
+        ensureRemaining(1);
+        buffer.put((byte) value);
+    }
+
+    void writeFixedInt(int value) {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void patchFixedInt(int position, int value) {
+        buffer.putInt(position, value);
+    }
+
+    void writeUnsignedVarLong(long value) {
+        ensureRemaining(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    void writeVarInt(int value) {
+        writeUnsignedVarLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    void writeLong(long value) {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void writeDouble(double value) {
+        ensureRemaining(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeUnsignedVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsignedVarLong(bytes.length + 1L); // 0 is reserved for null
+        ensureRemaining(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Hands over the written bytes. The writer must not be used afterwards.
+     * 
+     * @return Flipped buffer, to be released to the pool once consumed
+     */
+    ByteBuffer finish() {
+        ByteBuffer result = buffer;
+        buffer = null;
+        result.flip();
+        return result;
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        ByteBuffer larger = pool.acquire(Math.max(buffer.capacity() * 2, buffer.position() + bytes))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        larger.put(buffer);
+        pool.release(buffer);
+        buffer = larger;
+    }
+}
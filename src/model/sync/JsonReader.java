@@ -0,0 +1,635 @@
+package model.sync;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming JSON pull parser over a channel.
+ * Input is read through one pooled buffer into a fixed byte array, so
+ * memory stays constant whatever the document size. Object names are cached so that repeated
+ * names do not allocate a new string each time.
+ * Malformed input is reported as an {@link IllegalArgumentException}.
+ */
+class JsonReader implements Closeable {
+
+    /**
+     * Kind of the next element of the document.
+     */
+    enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    // Scopes
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private static final int NAME_CACHE_SIZE = 128;
+    private static final int NAME_CACHE_PROBES = 8;
+    private static final int MAX_NUMBER_LENGTH = 256;
+    private static final int MAX_FAST_DIGITS = 18;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private final ReadableByteChannel channel;
+    private final ByteBufferPool pool;
+    private ByteBuffer buffer;
+    private final byte[] bytes;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+
+    private int[] scopes;
+    private int depth;
+    private Token peeked;
+    private boolean peekedBoolean;
+
+    // Last string read: a slice of the array when plain ASCII, else text
+    private int sliceStart;
+    private int sliceLength;
+    private final StringBuilder text;
+
+    // Cached names (index = hash of the name bytes)
+    private final String[] cachedNames;
+    private final byte[][] cachedNameBytes;
+
+    // Last number read, also kept as a slice of the array
+    private long mantissa; // Absolute value
+    private boolean negative;
+    private int exponent;
+    private boolean exact; // mantissa * 10^exponent is the exact value
+    private boolean integer; // No fraction nor exponent
+
+    JsonReader(ReadableByteChannel channel, ByteBufferPool pool) {
+        this.channel = channel;
+        this.pool = pool;
+        this.buffer = pool.acquire(JsonWriter.BUFFER_SIZE);
+        this.bytes = new byte[JsonWriter.BUFFER_SIZE];
+        this.scopes = new int[16];
+        this.scopes[0] = EMPTY_DOCUMENT;
+        this.depth = 0;
+        this.text = new StringBuilder();
+        this.cachedNames = new String[NAME_CACHE_SIZE];
+        this.cachedNameBytes = new byte[NAME_CACHE_SIZE][];
+    }
+
+    Token peek() throws IOException {
+        if (peeked == null) {
+            peeked = readToken();
+        }
+        return peeked;
+    }
+
+    boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    void beginObject() throws IOException {
+        consume(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    void endObject() throws IOException {
+        consume(Token.END_OBJECT);
+        depth--;
+    }
+
+    void beginArray() throws IOException {
+        consume(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    void endArray() throws IOException {
+        consume(Token.END_ARRAY);
+        depth--;
+    }
+
+    String nextName() throws IOException {
+        consume(Token.NAME);
+        if (!readString()) {
+            return text.toString();
+        }
+        int hash = 0;
+        for (int i = sliceStart; i < sliceStart + sliceLength; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+
+        // Open addressing over a few slots; names past a full
+        // neighbourhood are simply not cached
+        for (int probe = 0; probe < NAME_CACHE_PROBES; probe++) {
+            int slot = (hash + probe) & (NAME_CACHE_SIZE - 1);
+            byte[] cached = cachedNameBytes[slot];
+            if (cached == null) {
+                String name = sliceToString();
+                cachedNames[slot] = name;
+                cachedNameBytes[slot] = Arrays.copyOfRange(bytes, sliceStart, sliceStart + sliceLength);
+                return name;
+            }
+            if (Arrays.equals(cached, 0, cached.length, bytes, sliceStart, sliceStart + sliceLength)) {
+                return cachedNames[slot];
+            }
+        }
+        return sliceToString();
+    }
+
+    /**
+     * @return The next string, or null if the next value is null
+     */
+    String nextString() throws IOException {
+        if (peek() == Token.NULL) {
+            peeked = null;
+            return null;
+        }
+        consume(Token.STRING);
+        return readString() ? sliceToString() : text.toString();
+    }
+
+    boolean nextBoolean() throws IOException {
+        consume(Token.BOOLEAN);
+        return peekedBoolean;
+    }
+
+    void nextNull() throws IOException {
+        consume(Token.NULL);
+    }
+
+    long nextLong() throws IOException {
+        consume(Token.NUMBER);
+        readNumber();
+        if (!integer) {
+            throw malformed("Expected an integer but was " + sliceToString());
+        }
+        if (exact) {
+            return negative ? -mantissa : mantissa;
+        }
+        try {
+            return Long.parseLong(sliceToString());
+        } catch (NumberFormatException e) {
+            throw malformed("Integer out of range: " + sliceToString());
+        }
+    }
+
+    int nextInt() throws IOException {
+        long value = nextLong();
+        if ((int) value != value) {
+            throw malformed("Integer out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Small values take Clinger's fast path, which is exact when the
+     * mantissa fits in 53 bits and the power of ten in a double.
+     */
+    double nextDouble() throws IOException {
+        consume(Token.NUMBER);
+        readNumber();
+        if (exact && mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+            double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(sliceToString());
+    }
+
+    /**
+     * Skips the next value, with everything it contains.
+     */
+    void skipValue() throws IOException {
+        int nested = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    nested++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    nested++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    nested--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    nested--;
+                    break;
+                case NAME:
+                    nextName();
+                    break;
+                case STRING:
+                    consume(Token.STRING);
+                    readString();
+                    break;
+                case NUMBER:
+                    consume(Token.NUMBER);
+                    readNumber();
+                    break;
+                case BOOLEAN:
+                    nextBoolean();
+                    break;
+                case NULL:
+                    nextNull();
+                    break;
+                default:
+                    throw malformed("Unexpected end of document");
+            }
+        } while (nested > 0);
+    }
+
+    /**
+     * Gives the buffer back to the pool. The channel is left open.
+     */
+    @Override
+    public void close() {
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    // ========== Tokenizer ==========
+
+    private Token readToken() throws IOException {
+        int scope = scopes[depth];
+        int c;
+        switch (scope) {
+            case EMPTY_ARRAY:
+                scopes[depth] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return Token.END_ARRAY;
+                }
+                if (c == -1) {
+                    throw malformed("Unterminated array");
+                }
+                unread();
+                break;
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw malformed("Expected ',' or ']'");
+                }
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                scopes[depth] = DANGLING_NAME;
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return Token.END_OBJECT;
+                }
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw malformed("Expected ',' or '}'");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw malformed("Expected a name");
+                }
+                return Token.NAME;
+            case DANGLING_NAME:
+                scopes[depth] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace() != ':') {
+                    throw malformed("Expected ':'");
+                }
+                break;
+            case EMPTY_DOCUMENT:
+                scopes[depth] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                if (nextNonWhitespace() != -1) {
+                    throw malformed("Content after the end of the document");
+                }
+                return Token.END_DOCUMENT;
+        }
+        return readValueToken();
+    }
+
+    private Token readValueToken() throws IOException {
+        int c = nextNonWhitespace();
+        switch (c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case '"':
+                return Token.STRING;
+            case 't':
+                expectLiteral("rue");
+                peekedBoolean = true;
+                return Token.BOOLEAN;
+            case 'f':
+                expectLiteral("alse");
+                peekedBoolean = false;
+                return Token.BOOLEAN;
+            case 'n':
+                expectLiteral("ull");
+                return Token.NULL;
+            case -1:
+                throw malformed("Unexpected end of document");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    unread();
+                    return Token.NUMBER;
+                }
+                throw malformed("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void consume(Token expected) throws IOException {
+        Token token = peek();
+        if (token != expected) {
+            throw malformed("Expected " + expected + " but was " + token);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        depth++;
+        if (depth == scopes.length) {
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+        scopes[depth] = scope;
+    }
+
+    /**
+     * Reads a string whose opening quote was consumed. Plain ASCII strings
+     * held in the array are left there as a slice; others are decoded into
+     * {@link #text}, with escapes and UTF-8.
+     *
+     * @return true if the string is in the slice
+     */
+    private boolean readString() throws IOException {
+        for (int i = position; i < limit; i++) {
+            byte b = bytes[i];
+            if (b == '"') {
+                sliceStart = position;
+                sliceLength = i - position;
+                position = i + 1;
+                return true;
+            }
+            if (b == '\\' || b < 0) {
+                break;
+            }
+        }
+
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return false;
+            }
+            if (c == -1) {
+                throw malformed("Unterminated string");
+            }
+            if (c == '\\') {
+                readEscape();
+            } else if (c < 0x80) {
+                text.append((char) c);
+            } else if ((c & 0xE0) == 0xC0) {
+                text.append((char) (((c & 0x1F) << 6) | continuation()));
+            } else if ((c & 0xF0) == 0xE0) {
+                text.append((char) (((c & 0x0F) << 12) | (continuation() << 6) | continuation()));
+            } else if ((c & 0xF8) == 0xF0) {
+                int codePoint = ((c & 0x07) << 18) | (continuation() << 12) | (continuation() << 6) | continuation();
+                text.appendCodePoint(codePoint);
+            } else {
+                throw malformed("Invalid UTF-8 byte");
+            }
+        }
+    }
+
+    /**
+     * @return The ASCII slice of the array as a string
+     */
+    private String sliceToString() {
+        return new String(bytes, sliceStart, sliceLength, StandardCharsets.ISO_8859_1);
+    }
+
+    private int continuation() throws IOException {
+        int c = read();
+        if ((c & 0xC0) != 0x80) {
+            throw malformed("Invalid UTF-8 sequence");
+        }
+        return c & 0x3F;
+    }
+
+    private void readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                text.append((char) c);
+                break;
+            case 'b':
+                text.append('\b');
+                break;
+            case 'f':
+                text.append('\f');
+                break;
+            case 'n':
+                text.append('\n');
+                break;
+            case 'r':
+                text.append('\r');
+                break;
+            case 't':
+                text.append('\t');
+                break;
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw malformed("Invalid unicode escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                text.append((char) value);
+                break;
+            default:
+                throw malformed("Invalid escape");
+        }
+    }
+
+    /**
+     * Reads a number into the slice, and into {@link #mantissa} and
+     * {@link #exponent} while it has at most 18 significant digits.
+     */
+    private void readNumber() throws IOException {
+        ensureBuffered(MAX_NUMBER_LENGTH);
+        mantissa = 0L;
+        exponent = 0;
+        exact = true;
+        integer = true;
+        int digits = 0;
+        negative = false;
+
+        int i = position;
+        int c = byteAt(i);
+        if (c == '-') {
+            negative = true;
+            c = byteAt(++i);
+        }
+        if (c < '0' || c > '9') {
+            throw malformed("Expected a digit");
+        }
+        while (c >= '0' && c <= '9') {
+            if (digits < MAX_FAST_DIGITS) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+            } else {
+                exact = false;
+            }
+            c = byteAt(++i);
+        }
+        if (c == '.') {
+            integer = false;
+            c = byteAt(++i);
+            if (c < '0' || c > '9') {
+                throw malformed("Expected a digit after '.'");
+            }
+            while (c >= '0' && c <= '9') {
+                if (digits < MAX_FAST_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    exponent--;
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                } else if (c != '0') {
+                    exact = false;
+                }
+                c = byteAt(++i);
+            }
+        }
+        if (c == 'e' || c == 'E') {
+            integer = false;
+            c = byteAt(++i);
+            boolean negativeExponent = false;
+            if (c == '-' || c == '+') {
+                negativeExponent = c == '-';
+                c = byteAt(++i);
+            }
+            if (c < '0' || c > '9') {
+                throw malformed("Expected a digit in the exponent");
+            }
+            int value = 0;
+            while (c >= '0' && c <= '9') {
+                if (value < 10000) {
+                    value = value * 10 + (c - '0');
+                } else {
+                    exact = false;
+                }
+                c = byteAt(++i);
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (i == limit && !endOfInput) {
+            throw malformed("Number longer than " + MAX_NUMBER_LENGTH + " characters");
+        }
+        sliceStart = position;
+        sliceLength = i - position;
+        position = i;
+    }
+
+    private void expectLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw malformed("Invalid literal");
+            }
+        }
+    }
+
+    // ========== Input ==========
+
+    private int nextNonWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    /**
+     * Steps back over the byte just read. It is always still in the array.
+     */
+    private void unread() {
+        position--;
+    }
+
+    /**
+     * @return Byte at an index of the array, -1 past its end
+     */
+    private int byteAt(int index) {
+        return index < limit ? bytes[index] & 0xFF : -1;
+    }
+
+    /**
+     * Makes sure the next {@code count} bytes are in the array, unless the
+     * input ends before.
+     */
+    private void ensureBuffered(int count) throws IOException {
+        while (limit - position < count && fill()) {
+            // Keep reading
+        }
+    }
+
+    /**
+     * Moves the unread bytes to the front of the array and reads more
+     * after them.
+     *
+     * @return false at the end of the input
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        int remaining = limit - position;
+        System.arraycopy(bytes, position, bytes, 0, remaining);
+        position = 0;
+        limit = remaining;
+
+        buffer.clear();
+        buffer.limit(bytes.length - remaining);
+        int count;
+        do {
+            count = channel.read(buffer);
+        } while (count == 0);
+        if (count < 0) {
+            endOfInput = true;
+            return false;
+        }
+        buffer.flip();
+        buffer.get(bytes, limit, count);
+        limit += count;
+        return true;
+    }
+
+    private IllegalArgumentException malformed(String message) {
+        return new IllegalArgumentException("Malformed JSON: " + message);
+    }
+}
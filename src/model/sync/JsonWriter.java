@@ -0,0 +1,285 @@
+package model.sync;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming JSON writer over a channel.
+ * Output is staged in a fixed byte array and copied to one pooled buffer
+ * written to the channel each time the array fills up, so memory stays
+ * constant whatever the document size. Commas and colons are placed
+ * automatically.
+ */
+class JsonWriter implements Closeable {
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+    private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+
+    private final WritableByteChannel channel;
+    private final ByteBufferPool pool;
+    private ByteBuffer buffer;
+    private final byte[] bytes;
+    private int count;
+
+    // Scopes (index = depth), true once the scope holds a value
+    private boolean[] hasValue;
+    private int depth;
+    private boolean afterName;
+
+    JsonWriter(WritableByteChannel channel, ByteBufferPool pool) {
+        this.channel = channel;
+        this.pool = pool;
+        this.buffer = pool.acquire(BUFFER_SIZE);
+        this.bytes = new byte[BUFFER_SIZE];
+        this.hasValue = new boolean[16];
+        this.depth = 0;
+    }
+
+    JsonWriter beginObject() throws IOException {
+        beforeValue();
+        push();
+        put('{');
+        return this;
+    }
+
+    JsonWriter endObject() throws IOException {
+        pop();
+        put('}');
+        return this;
+    }
+
+    JsonWriter beginArray() throws IOException {
+        beforeValue();
+        push();
+        put('[');
+        return this;
+    }
+
+    JsonWriter endArray() throws IOException {
+        pop();
+        put(']');
+        return this;
+    }
+
+    JsonWriter name(String name) throws IOException {
+        if (afterName || depth == 0) {
+            throw new IllegalStateException("Name outside of an object: " + name);
+        }
+        if (hasValue[depth]) {
+            put(',');
+        }
+        hasValue[depth] = true;
+        writeString(name);
+        put(':');
+        afterName = true;
+        return this;
+    }
+
+    JsonWriter value(String value) throws IOException {
+        beforeValue();
+        if (value == null) {
+            putAll(NULL);
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        putAll(value ? TRUE : FALSE);
+        return this;
+    }
+
+    JsonWriter value(long value) throws IOException {
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+
+    /**
+     * Integral values are written without a fraction, others as
+     * {@link Double#toString(double)}.
+     */
+    JsonWriter value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("JSON cannot represent " + value);
+        }
+        beforeValue();
+        long integral = (long) value;
+        if (integral == value && Math.abs(integral) < (1L << 53)
+                && (integral != 0 || Double.doubleToRawLongBits(value) == 0L)) {
+            writeLong(integral);
+            return this;
+        }
+        String text = Double.toString(value);
+        ensureRemaining(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            bytes[count++] = (byte) text.charAt(i);
+        }
+        return this;
+    }
+
+    /**
+     * Writes buffered output to the channel.
+     */
+    void flush() throws IOException {
+        buffer.clear();
+        buffer.put(bytes, 0, count);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        count = 0;
+    }
+
+    /**
+     * Flushes and gives the buffer back to the pool.
+     * The channel is left open.
+     */
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (hasValue[depth]) {
+                put(',');
+            }
+            hasValue[depth] = true;
+        }
+    }
+
+    private void push() {
+        depth++;
+        if (depth == hasValue.length) {
+            hasValue = Arrays.copyOf(hasValue, depth * 2);
+        }
+        hasValue[depth] = false;
+    }
+
+    private void pop() {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("Unbalanced JSON scope");
+        }
+        depth--;
+    }
+
+    private void writeString(String value) throws IOException {
+        ensureRemaining(2);
+        bytes[count++] = '"';
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            ensureRemaining(6);
+            if (c >= 0x20 && c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    bytes[count++] = '\\';
+                }
+                bytes[count++] = (byte) c;
+            } else if (c < 0x20) {
+                escape(c);
+            } else if (c < 0x800) {
+                bytes[count++] = (byte) (0xC0 | (c >> 6));
+                bytes[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                bytes[count++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                escape(c); // Lone surrogate, not valid UTF-8
+            } else {
+                bytes[count++] = (byte) (0xE0 | (c >> 12));
+                bytes[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        put('"');
+    }
+
+    private void escape(char c) {
+        bytes[count++] = '\\';
+        switch (c) {
+            case '\n':
+                bytes[count++] = 'n';
+                break;
+            case '\r':
+                bytes[count++] = 'r';
+                break;
+            case '\t':
+                bytes[count++] = 't';
+                break;
+            default:
+                bytes[count++] = 'u';
+                bytes[count++] = HEX[(c >> 12) & 0xF];
+                bytes[count++] = HEX[(c >> 8) & 0xF];
+                bytes[count++] = HEX[(c >> 4) & 0xF];
+                bytes[count++] = HEX[c & 0xF];
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        ensureRemaining(20);
+        if (value == Long.MIN_VALUE) {
+            putAll(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            bytes[count++] = '-';
+            value = -value;
+        }
+        int start = count;
+        do {
+            bytes[count++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+
+        // Digits were written backwards
+        for (int i = start, j = count - 1; i < j; i++, j--) {
+            byte swap = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = swap;
+        }
+    }
+
+    private void put(char c) throws IOException {
+        ensureRemaining(1);
+        bytes[count++] = (byte) c;
+    }
+
+    private void putAll(byte[] source) throws IOException {
+        ensureRemaining(source.length);
+        System.arraycopy(source, 0, bytes, count, source.length);
+        count += source.length;
+    }
+
+    private void ensureRemaining(int needed) throws IOException {
+        if (bytes.length - count < needed) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package model.sync;
+
+import static model.sync.SharedStoreLayout.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a store published by {@link SharedBuildingStore},
+ * typically from another process. Records are read in place through
+ * {@link SharedPlantView} and {@link SharedResidenceView} flyweights,
+ * without copying them to the heap.
+ */
+public class SharedBuildingReader implements Closeable {
+
+    // ========== Instance Variables ==========
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int plantCapacity;
+
+    // Header snapshot, refreshed by refresh()
+    private int plantCount;
+    private int residenceCount;
+    private int day;
+    private double totalCoins;
+    private double globalHappiness;
+    private double totalPollution;
+    private double totalEnergyDemand;
+    private long seed;
+    private double demandGrowthRate;
+    private double purchasingPowerGrowthRate;
+
+    // ========== Constructor ==========
+
+    private SharedBuildingReader(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.plantCapacity = buffer.getInt(HEADER_PLANT_CAPACITY);
+        refresh();
+    }
+
+    /**
+     * Maps an existing store file.
+     * 
+     * @param path File created by {@link SharedBuildingStore#create}
+     * @return Reader positioned on the latest published header
+     * @throws IOException if the file cannot be mapped or is not a store
+     */
+    public static SharedBuildingReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.capacity() < PAGE_SIZE || buffer.getInt(HEADER_MAGIC) != MAGIC) {
+                throw new IOException("Not a building store: " + path);
+            }
+            VarHandle.acquireFence();
+            if (buffer.getInt(HEADER_VERSION) != VERSION) {
+                throw new IOException("Unsupported building store version: " + buffer.getInt(HEADER_VERSION));
+            }
+            return new SharedBuildingReader(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // ========== Getters ==========
+
+    public int getPlantCount() {
+        return plantCount;
+    }
+
+    public int getResidenceCount() {
+        return residenceCount;
+    }
+
+    public int getDay() {
+        return day;
+    }
+
+    public double getTotalCoins() {
+        return totalCoins;
+    }
+
+    public double getGlobalHappiness() {
+        return globalHappiness;
+    }
+
+    public double getTotalPollution() {
+        return totalPollution;
+    }
+
+    public double getTotalEnergyDemand() {
+        return totalEnergyDemand;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getDemandGrowthRate() {
+        return demandGrowthRate;
+    }
+
+    public double getPurchasingPowerGrowthRate() {
+        return purchasingPowerGrowthRate;
+    }
+
+    int getPlantCapacity() {
+        return plantCapacity;
+    }
+
+    MappedByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    // ========== Reading Methods ==========
+
+    /**
+     * Reloads the counts and city metrics of the latest publication.
+     */
+    public void refresh() {
+        int sequence;
+        do {
+            sequence = beginRead(buffer, 0);
+            plantCount = buffer.getInt(HEADER_PLANT_COUNT);
+            residenceCount = buffer.getInt(HEADER_RESIDENCE_COUNT);
+            day = buffer.getInt(HEADER_DAY);
+            totalCoins = buffer.getDouble(HEADER_TOTAL_COINS);
+            globalHappiness = buffer.getDouble(HEADER_GLOBAL_HAPPINESS);
+            totalPollution = buffer.getDouble(HEADER_TOTAL_POLLUTION);
+            totalEnergyDemand = buffer.getDouble(HEADER_TOTAL_ENERGY_DEMAND);
+            seed = buffer.getLong(HEADER_SEED);
+            demandGrowthRate = buffer.getDouble(HEADER_DEMAND_GROWTH_RATE);
+            purchasingPowerGrowthRate = buffer.getDouble(HEADER_PURCHASING_POWER_GROWTH_RATE);
+        } while (!validate(buffer, 0, sequence));
+    }
+
+    /**
+     * @return A new flyweight over the plant records
+     */
+    public SharedPlantView plantView() {
+        return new SharedPlantView(this);
+    }
+
+    /**
+     * @return A new flyweight over the residence records, deriving daily
+     *         values from the census parameters of the last refresh
+     */
+    public SharedResidenceView residenceView() {
+        return new SharedResidenceView(this);
+    }
+
+    void checkIndex(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + count);
+        }
+    }
+
+    // ========== Standard Methods ==========
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
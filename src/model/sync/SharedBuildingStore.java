@@ -0,0 +1,279 @@
+package model.sync;
+
+import static model.sync.SharedStoreLayout.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import model.entite.Building;
+import model.entite.City;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+import model.entite.ResidenceCensus;
+
+/**
+ * Writer side of a memory-mapped file mirroring the buildings of a city.
+ * Records have a fixed layout (see {@link SharedStoreLayout}) and each page
+ * is guarded by a seqlock, so other processes on the same host can map the
+ * file with {@link SharedBuildingReader} and read consistent records
+ * without any serialization. Only one writer may publish to a file.
+ * Residence daily values are not published: readers derive them from the
+ * census parameters, as {@link model.simulation.DailyDemandPass} does, so
+ * publishing never forces the residences to compute them.
+ */
+public class SharedBuildingStore implements Closeable {
+
+    // ========== Instance Variables ==========
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int plantCapacity;
+    private final int residenceCapacity;
+
+    // Last successful publication, to skip unchanged pages
+    private boolean published;
+    private long publishedStructureVersion;
+    private int publishedPlantCount;
+    private int publishedResidenceCount;
+
+    // ========== Constructor ==========
+
+    private SharedBuildingStore(FileChannel channel, MappedByteBuffer buffer,
+            int plantCapacity, int residenceCapacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.plantCapacity = plantCapacity;
+        this.residenceCapacity = residenceCapacity;
+    }
+
+    /**
+     * Creates a store file sized for the given capacities.
+     * The file is prepared under a temporary name and then moved over any
+     * previous store, so readers still mapping the previous file keep a
+     * valid (but no longer updated) view until they reopen the path.
+     * 
+     * @param path              File to map, ideally on a tmpfs such as /dev/shm
+     * @param plantCapacity     Maximum number of plants
+     * @param residenceCapacity Maximum number of residences
+     * @return Store ready to publish
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static SharedBuildingStore create(Path path, int plantCapacity, int residenceCapacity)
+            throws IOException {
+        long size = fileSize(plantCapacity, residenceCapacity);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Store too large to map: " + size + " bytes");
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(HEADER_PLANT_CAPACITY, plantCapacity);
+            buffer.putInt(HEADER_RESIDENCE_CAPACITY, residenceCapacity);
+            buffer.putInt(HEADER_VERSION, VERSION);
+            VarHandle.releaseFence();
+            buffer.putInt(HEADER_MAGIC, MAGIC); // Last: readers wait for it
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return new SharedBuildingStore(channel, buffer, plantCapacity, residenceCapacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    // ========== Getters ==========
+
+    public int getPlantCapacity() {
+        return plantCapacity;
+    }
+
+    public int getResidenceCapacity() {
+        return residenceCapacity;
+    }
+
+    // ========== Publishing Methods ==========
+
+    /**
+     * Writes the buildings changed since the last publication and the city
+     * metrics, leaving the dirty masks for a {@link DeltaEncoder}.
+     * 
+     * @param city City to publish
+     * @see #publish(City, boolean)
+     */
+    public void publish(City city) {
+        publish(city, false);
+    }
+
+    /**
+     * Writes the buildings changed since the last publication and the city
+     * metrics. Only pages holding a building with dirty fields or a building
+     * added since the last publication are rewritten, so readers of other
+     * pages never retry; every page is rewritten after a structural change
+     * (see {@link City#getStructureVersion()}).
+     * The dirty masks are shared with {@link DeltaEncoder}, which clears
+     * them: when both run, publish before encoding. A store used alone
+     * clears the masks itself so that pages are not rewritten again.
+     * Each page becomes visible to readers atomically; the city as a whole
+     * is not (readers compare {@link SharedBuildingReader#getDay()} if they
+     * need records from a single day).
+     * Residence values overridden through the setters are not published.
+     * 
+     * @param city             City to publish
+     * @param clearDirtyFields Whether to clear the masks of written buildings
+     * @throws IllegalStateException    if the city exceeds the store capacity
+     * @throws IllegalArgumentException if an id is longer than
+     *                                  {@link SharedStoreLayout#MAX_ID_BYTES}
+     *                                  UTF-8 bytes; records before it are
+     *                                  already published and the next call
+     *                                  rewrites every page
+     */
+    public void publish(City city, boolean clearDirtyFields) {
+        List<PowerPlant> plants = city.getPowerPlants();
+        List<Residence> residences = city.getResidences();
+        if (plants.size() > plantCapacity || residences.size() > residenceCapacity) {
+            throw new IllegalStateException("City exceeds store capacity: " + plants.size() + " plants, "
+                    + residences.size() + " residences");
+        }
+        boolean full = !published || city.getStructureVersion() != publishedStructureVersion;
+        published = false; // Until every page is written
+
+        for (int page = 0; page * PLANTS_PER_PAGE < plants.size(); page++) {
+            int start = page * PLANTS_PER_PAGE;
+            int end = Math.min(plants.size(), start + PLANTS_PER_PAGE);
+            if (!full && !isPageChanged(plants, start, end, publishedPlantCount)) {
+                continue;
+            }
+            int pageOffset = plantPageOffset(page);
+            beginWrite(pageOffset);
+            try {
+                for (int i = start; i < end; i++) {
+                    writePlant(plantOffset(i), plants.get(i));
+                }
+            } finally {
+                endWrite(pageOffset);
+            }
+            if (clearDirtyFields) {
+                clearDirtyFields(plants, start, end);
+            }
+        }
+
+        for (int page = 0; page * RESIDENCES_PER_PAGE < residences.size(); page++) {
+            int start = page * RESIDENCES_PER_PAGE;
+            int end = Math.min(residences.size(), start + RESIDENCES_PER_PAGE);
+            if (!full && !isPageChanged(residences, start, end, publishedResidenceCount)) {
+                continue;
+            }
+            int pageOffset = residencePageOffset(plantCapacity, page);
+            beginWrite(pageOffset);
+            try {
+                for (int i = start; i < end; i++) {
+                    writeResidence(residenceOffset(plantCapacity, i), residences.get(i));
+                }
+            } finally {
+                endWrite(pageOffset);
+            }
+            if (clearDirtyFields) {
+                clearDirtyFields(residences, start, end);
+            }
+        }
+
+        beginWrite(0);
+        buffer.putInt(HEADER_PLANT_COUNT, plants.size());
+        buffer.putInt(HEADER_RESIDENCE_COUNT, residences.size());
+        ResidenceCensus census = city.getResidenceCensus();
+        buffer.putInt(HEADER_DAY, census.getDay());
+        buffer.putDouble(HEADER_TOTAL_COINS, city.getTotalCoins());
+        buffer.putDouble(HEADER_GLOBAL_HAPPINESS, city.getGlobalHappiness());
+        buffer.putDouble(HEADER_TOTAL_POLLUTION, city.getTotalPollution());
+        buffer.putDouble(HEADER_TOTAL_ENERGY_DEMAND, city.getTotalEnergyDemand());
+        buffer.putLong(HEADER_SEED, census.getSeed());
+        buffer.putDouble(HEADER_DEMAND_GROWTH_RATE, census.getDemandGrowthRate());
+        buffer.putDouble(HEADER_PURCHASING_POWER_GROWTH_RATE, census.getPurchasingPowerGrowthRate());
+        endWrite(0);
+
+        published = true;
+        publishedStructureVersion = city.getStructureVersion();
+        publishedPlantCount = plants.size();
+        publishedResidenceCount = residences.size();
+    }
+
+    /**
+     * Tells whether a page holds a building that is dirty or was added
+     * since the last publication.
+     */
+    private static boolean isPageChanged(List<? extends Building> buildings, int start, int end,
+            int publishedCount) {
+        if (end > publishedCount) {
+            return true;
+        }
+        for (int i = start; i < end; i++) {
+            if (buildings.get(i).getDirtyFields() != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void clearDirtyFields(List<? extends Building> buildings, int start, int end) {
+        for (int i = start; i < end; i++) {
+            buildings.get(i).clearDirtyFields();
+        }
+    }
+
+    private void beginWrite(int pageOffset) {
+        int sequence = (int) INT_HANDLE.get(buffer, pageOffset + PAGE_SEQUENCE);
+        INT_HANDLE.setVolatile(buffer, pageOffset + PAGE_SEQUENCE, sequence + 1); // Odd: write in progress
+        VarHandle.storeStoreFence();
+    }
+
+    private void endWrite(int pageOffset) {
+        int sequence = (int) INT_HANDLE.get(buffer, pageOffset + PAGE_SEQUENCE);
+        INT_HANDLE.setRelease(buffer, pageOffset + PAGE_SEQUENCE, sequence + 1); // Even: stable
+    }
+
+    private void writePlant(int offset, PowerPlant plant) {
+        writeId(buffer, offset + PLANT_ID, plant.getId()); // First: nothing is written if rejected
+        buffer.put(offset + PLANT_TYPE, (byte) plant.getType().ordinal());
+        buffer.put(offset + PLANT_STATUS, (byte) plant.getStatus().ordinal());
+        buffer.putInt(offset + PLANT_LEVEL, plant.getLevel());
+        buffer.putInt(offset + PLANT_MAX_LEVEL, plant.getMaxLevel());
+        buffer.putInt(offset + PLANT_REMAINING_TIME, plant.getRemainingTime());
+        buffer.putInt(offset + PLANT_UPGRADE_TIME, plant.getUpgradeTime());
+        buffer.putDouble(offset + PLANT_POWER_OUTPUT, plant.getPowerOutput());
+        buffer.putDouble(offset + PLANT_STORAGE_CAPACITY, plant.getStorageCapacity());
+        buffer.putDouble(offset + PLANT_CURRENT_ENERGY_STORED, plant.getCurrentEnergyStored());
+        buffer.putDouble(offset + PLANT_DAILY_COST, plant.getDailyCost());
+        buffer.putDouble(offset + PLANT_POLLUTION_RATE, plant.getPollutionRate());
+        buffer.putDouble(offset + PLANT_UPGRADE_COST, plant.getUpgradeCost());
+    }
+
+    private void writeResidence(int offset, Residence residence) {
+        writeId(buffer, offset + RESIDENCE_ID, residence.getId()); // First: nothing is written if rejected
+        buffer.putInt(offset + RESIDENCE_LEVEL, residence.getLevel());
+        buffer.putInt(offset + RESIDENCE_MAX_LEVEL, residence.getMaxLevel());
+        buffer.putInt(offset + RESIDENCE_MAX_CAPACITY, residence.getMaxCapacity());
+        buffer.putInt(offset + RESIDENCE_CURRENT_OCCUPANCY, residence.getCurrentOccupancy());
+        buffer.put(offset + RESIDENCE_SUPPLIED, (byte) (residence.isSupplied() ? 1 : 0));
+        buffer.putLong(offset + RESIDENCE_KEY, ResidenceCensus.keyOf(residence.getId()));
+    }
+
+    // ========== Standard Methods ==========
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,134 @@
+package model.sync;
+
+import static model.sync.SharedStoreLayout.*;
+
+import java.nio.ByteBuffer;
+
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+
+/**
+ * Flyweight over one plant record of a shared store at a time.
+ * Getters read the mapped file directly. A read is consistent only if
+ * {@link #isStable()} holds after it; otherwise move to the record again:
+ *
+ * <pre>
+ * do {
+ *     view.moveTo(i);
+ *     output = view.getPowerOutput();
+ *     status = view.getStatus();
+ * } while (!view.isStable());
+ * </pre>
+ *
+ * Views are not thread-safe; use one per thread.
+ */
+public class SharedPlantView {
+
+    private static final PlantType[] PLANT_TYPES = PlantType.values();
+    private static final PlantStatus[] PLANT_STATUSES = PlantStatus.values();
+
+    // ========== Instance Variables ==========
+
+    private final SharedBuildingReader reader;
+    private final ByteBuffer buffer;
+    private int pageOffset;
+    private int offset;
+    private int sequence;
+
+    // ========== Constructor ==========
+
+    SharedPlantView(SharedBuildingReader reader) {
+        this.reader = reader;
+        this.buffer = reader.getBuffer();
+        this.offset = -1;
+    }
+
+    // ========== Navigation ==========
+
+    /**
+     * Points the view at a record, waiting until its page is not being
+     * written.
+     *
+     * @param index Plant index, below {@link SharedBuildingReader#getPlantCount()}
+     * @return This view
+     */
+    public SharedPlantView moveTo(int index) {
+        reader.checkIndex(index, reader.getPlantCount());
+        pageOffset = plantPageOffset(index / PLANTS_PER_PAGE);
+        offset = plantOffset(index);
+        sequence = beginRead(buffer, pageOffset);
+        return this;
+    }
+
+    /**
+     * @return true if the record was not rewritten since {@link #moveTo}
+     */
+    public boolean isStable() {
+        return validate(buffer, pageOffset, sequence);
+    }
+
+    // ========== Getters ==========
+
+    /**
+     * @return Type of the plant, or null if the record is being rewritten
+     */
+    public PlantType getType() {
+        int ordinal = buffer.get(offset + PLANT_TYPE) & 0xFF;
+        return ordinal < PLANT_TYPES.length ? PLANT_TYPES[ordinal] : null;
+    }
+
+    /**
+     * @return Status of the plant, or null if the record is being rewritten
+     */
+    public PlantStatus getStatus() {
+        int ordinal = buffer.get(offset + PLANT_STATUS) & 0xFF;
+        return ordinal < PLANT_STATUSES.length ? PLANT_STATUSES[ordinal] : null;
+    }
+
+    /**
+     * Allocates a string; prefer the numeric getters in hot loops.
+     */
+    public String getId() {
+        return readId(buffer, offset + PLANT_ID);
+    }
+
+    public int getLevel() {
+        return buffer.getInt(offset + PLANT_LEVEL);
+    }
+
+    public int getMaxLevel() {
+        return buffer.getInt(offset + PLANT_MAX_LEVEL);
+    }
+
+    public int getRemainingTime() {
+        return buffer.getInt(offset + PLANT_REMAINING_TIME);
+    }
+
+    public int getUpgradeTime() {
+        return buffer.getInt(offset + PLANT_UPGRADE_TIME);
+    }
+
+    public double getPowerOutput() {
+        return buffer.getDouble(offset + PLANT_POWER_OUTPUT);
+    }
+
+    public double getStorageCapacity() {
+        return buffer.getDouble(offset + PLANT_STORAGE_CAPACITY);
+    }
+
+    public double getCurrentEnergyStored() {
+        return buffer.getDouble(offset + PLANT_CURRENT_ENERGY_STORED);
+    }
+
+    public double getDailyCost() {
+        return buffer.getDouble(offset + PLANT_DAILY_COST);
+    }
+
+    public double getPollutionRate() {
+        return buffer.getDouble(offset + PLANT_POLLUTION_RATE);
+    }
+
+    public double getUpgradeCost() {
+        return buffer.getDouble(offset + PLANT_UPGRADE_COST);
+    }
+}
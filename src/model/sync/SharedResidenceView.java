@@ -0,0 +1,113 @@
+package model.sync;
+
+import static model.sync.SharedStoreLayout.*;
+
+import java.nio.ByteBuffer;
+
+import model.entite.Residence;
+import model.entite.ResidenceCensus;
+
+/**
+ * Flyweight over one residence record of a shared store at a time.
+ * Getters read the mapped file directly; daily values are derived from
+ * the census parameters of the reader's last refresh, exactly as
+ * {@link Residence#getEnergyDemand()} would. A read is consistent only if
+ * {@link #isStable()} holds after it (see {@link SharedPlantView}).
+ * Views are not thread-safe; use one per thread.
+ */
+public class SharedResidenceView {
+
+    // ========== Instance Variables ==========
+
+    private final SharedBuildingReader reader;
+    private final ByteBuffer buffer;
+    private int pageOffset;
+    private int offset;
+    private int sequence;
+
+    // ========== Constructor ==========
+
+    SharedResidenceView(SharedBuildingReader reader) {
+        this.reader = reader;
+        this.buffer = reader.getBuffer();
+        this.offset = -1;
+    }
+
+    // ========== Navigation ==========
+
+    /**
+     * Points the view at a record, waiting until its page is not being
+     * written.
+     *
+     * @param index Residence index, below {@link SharedBuildingReader#getResidenceCount()}
+     * @return This view
+     */
+    public SharedResidenceView moveTo(int index) {
+        reader.checkIndex(index, reader.getResidenceCount());
+        pageOffset = residencePageOffset(reader.getPlantCapacity(), index / RESIDENCES_PER_PAGE);
+        offset = residenceOffset(reader.getPlantCapacity(), index);
+        sequence = beginRead(buffer, pageOffset);
+        return this;
+    }
+
+    /**
+     * @return true if the record was not rewritten since {@link #moveTo}
+     */
+    public boolean isStable() {
+        return validate(buffer, pageOffset, sequence);
+    }
+
+    // ========== Getters ==========
+
+    /**
+     * Allocates a string; prefer {@link #getIdKey()} in hot loops.
+     */
+    public String getId() {
+        return readId(buffer, offset + RESIDENCE_ID);
+    }
+
+    /**
+     * @return Key of the id (see {@link ResidenceCensus#keyOf(String)})
+     */
+    public long getIdKey() {
+        return buffer.getLong(offset + RESIDENCE_KEY);
+    }
+
+    public int getLevel() {
+        return buffer.getInt(offset + RESIDENCE_LEVEL);
+    }
+
+    public int getMaxLevel() {
+        return buffer.getInt(offset + RESIDENCE_MAX_LEVEL);
+    }
+
+    public int getMaxCapacity() {
+        return buffer.getInt(offset + RESIDENCE_MAX_CAPACITY);
+    }
+
+    public int getCurrentOccupancy() {
+        return buffer.getInt(offset + RESIDENCE_CURRENT_OCCUPANCY);
+    }
+
+    public boolean isSupplied() {
+        return buffer.get(offset + RESIDENCE_SUPPLIED) != 0;
+    }
+
+    // ========== Derived Values ==========
+
+    public double getEnergyDemand() {
+        int level = getLevel();
+        double min = Residence.computeEnergyDemandMin(level, reader.getDemandGrowthRate());
+        double max = Residence.computeEnergyDemandMax(level, reader.getDemandGrowthRate());
+        return min + (max - min) * ResidenceCensus.uniform(reader.getSeed(), getIdKey(), reader.getDay(),
+                ResidenceCensus.DEMAND_STREAM);
+    }
+
+    public double getPurchasingPower() {
+        int level = getLevel();
+        double min = Residence.computePurchasingPowerMin(level, reader.getPurchasingPowerGrowthRate());
+        double max = Residence.computePurchasingPowerMax(level, reader.getPurchasingPowerGrowthRate());
+        return min + (max - min) * ResidenceCensus.uniform(reader.getSeed(), getIdKey(), reader.getDay(),
+                ResidenceCensus.PURCHASING_POWER_STREAM);
+    }
+}
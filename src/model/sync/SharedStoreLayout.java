@@ -0,0 +1,223 @@
+package model.sync;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed binary layout of the shared building store file.
+ * 
+ * <pre>
+ * page 0           header (seqlock, magic, capacities, counts, city metrics,
+ *                  census parameters)
+ * pages 1..P       plant records, {@link #PLANTS_PER_PAGE} per page
+ * pages P+1..      residence records, {@link #RESIDENCES_PER_PAGE} per page
+ * </pre>
+ * 
+ * Every page starts with an int sequence number: odd while the writer is
+ * updating the page, even otherwise. All values are little-endian.
+ * Residence records hold no daily values: readers derive them from the
+ * census parameters of the header and the id key of the record.
+ * Ids are stored as a length byte ({@link #NULL_ID} for null) followed by
+ * at most {@link #MAX_ID_BYTES} UTF-8 bytes.
+ */
+final class SharedStoreLayout {
+
+    static final int MAGIC = 0x50475453; // "PGTS"
+    static final int VERSION = 2;
+    static final int PAGE_SIZE = 4096;
+    static final int PAGE_HEADER_SIZE = 8;
+    static final int ID_BYTES = 32;
+    static final int MAX_ID_BYTES = ID_BYTES - 1;
+    static final int NULL_ID = 0xFF;
+
+    // Header page
+    static final int PAGE_SEQUENCE = 0;
+    static final int HEADER_MAGIC = 4;
+    static final int HEADER_VERSION = 8;
+    static final int HEADER_PLANT_CAPACITY = 12;
+    static final int HEADER_RESIDENCE_CAPACITY = 16;
+    static final int HEADER_PLANT_COUNT = 20;
+    static final int HEADER_RESIDENCE_COUNT = 24;
+    static final int HEADER_DAY = 28;
+    static final int HEADER_TOTAL_COINS = 32;
+    static final int HEADER_GLOBAL_HAPPINESS = 40;
+    static final int HEADER_TOTAL_POLLUTION = 48;
+    static final int HEADER_TOTAL_ENERGY_DEMAND = 56;
+    static final int HEADER_SEED = 64;
+    static final int HEADER_DEMAND_GROWTH_RATE = 72;
+    static final int HEADER_PURCHASING_POWER_GROWTH_RATE = 80;
+
+    // Plant record
+    static final int PLANT_RECORD_SIZE = 104;
+    static final int PLANT_TYPE = 0;
+    static final int PLANT_STATUS = 1;
+    static final int PLANT_LEVEL = 4;
+    static final int PLANT_MAX_LEVEL = 8;
+    static final int PLANT_REMAINING_TIME = 12;
+    static final int PLANT_UPGRADE_TIME = 16;
+    static final int PLANT_POWER_OUTPUT = 24;
+    static final int PLANT_STORAGE_CAPACITY = 32;
+    static final int PLANT_CURRENT_ENERGY_STORED = 40;
+    static final int PLANT_DAILY_COST = 48;
+    static final int PLANT_POLLUTION_RATE = 56;
+    static final int PLANT_UPGRADE_COST = 64;
+    static final int PLANT_ID = 72;
+    static final int PLANTS_PER_PAGE = (PAGE_SIZE - PAGE_HEADER_SIZE) / PLANT_RECORD_SIZE;
+
+    // Residence record
+    static final int RESIDENCE_RECORD_SIZE = 64;
+    static final int RESIDENCE_LEVEL = 0;
+    static final int RESIDENCE_MAX_LEVEL = 4;
+    static final int RESIDENCE_MAX_CAPACITY = 8;
+    static final int RESIDENCE_CURRENT_OCCUPANCY = 12;
+    static final int RESIDENCE_SUPPLIED = 16;
+    static final int RESIDENCE_KEY = 24; // See ResidenceCensus#keyOf
+    static final int RESIDENCE_ID = 32;
+    static final int RESIDENCES_PER_PAGE = (PAGE_SIZE - PAGE_HEADER_SIZE) / RESIDENCE_RECORD_SIZE;
+
+    /**
+     * Ordered access to the sequence numbers of mapped pages.
+     */
+    static final VarHandle INT_HANDLE = MethodHandles.byteBufferViewVarHandle(int[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private SharedStoreLayout() {
+    }
+
+    static int plantPages(int plantCapacity) {
+        return (plantCapacity + PLANTS_PER_PAGE - 1) / PLANTS_PER_PAGE;
+    }
+
+    static int residencePages(int residenceCapacity) {
+        return (residenceCapacity + RESIDENCES_PER_PAGE - 1) / RESIDENCES_PER_PAGE;
+    }
+
+    static long fileSize(int plantCapacity, int residenceCapacity) {
+        return (long) PAGE_SIZE * (1 + plantPages(plantCapacity) + residencePages(residenceCapacity));
+    }
+
+    static int plantPageOffset(int page) {
+        return PAGE_SIZE * (1 + page);
+    }
+
+    static int residencePageOffset(int plantCapacity, int page) {
+        return PAGE_SIZE * (1 + plantPages(plantCapacity) + page);
+    }
+
+    static int plantOffset(int index) {
+        return plantPageOffset(index / PLANTS_PER_PAGE) + PAGE_HEADER_SIZE
+                + (index % PLANTS_PER_PAGE) * PLANT_RECORD_SIZE;
+    }
+
+    static int residenceOffset(int plantCapacity, int index) {
+        return residencePageOffset(plantCapacity, index / RESIDENCES_PER_PAGE) + PAGE_HEADER_SIZE
+                + (index % RESIDENCES_PER_PAGE) * RESIDENCE_RECORD_SIZE;
+    }
+
+    // ========== Ids ==========
+
+    /**
+     * Encodes an id in place, without allocating.
+     * Lone surrogates are written as '?', as {@link String#getBytes} does.
+     *
+     * @throws IllegalArgumentException if the id takes more than
+     *                                  {@link #MAX_ID_BYTES} bytes; nothing
+     *                                  is written then
+     */
+    static void writeId(ByteBuffer buffer, int offset, String id) {
+        if (id == null) {
+            buffer.put(offset, (byte) NULL_ID);
+            return;
+        }
+        int length = utf8Length(id);
+        if (length > MAX_ID_BYTES) {
+            throw new IllegalArgumentException("Id longer than " + MAX_ID_BYTES + " UTF-8 bytes: " + id);
+        }
+        buffer.put(offset, (byte) length);
+        int position = offset + 1;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < 0x80) {
+                buffer.put(position++, (byte) c);
+            } else if (c < 0x800) {
+                buffer.put(position++, (byte) (0xC0 | (c >> 6)));
+                buffer.put(position++, (byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < id.length()
+                    && Character.isLowSurrogate(id.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, id.charAt(++i));
+                buffer.put(position++, (byte) (0xF0 | (codePoint >> 18)));
+                buffer.put(position++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put(position++, (byte) '?');
+            } else {
+                buffer.put(position++, (byte) (0xE0 | (c >> 12)));
+                buffer.put(position++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static int utf8Length(String id) {
+        int length = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < id.length()
+                    && Character.isLowSurrogate(id.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * @return The id, or null if none was stored or the record is torn
+     */
+    static String readId(ByteBuffer buffer, int offset) {
+        int length = buffer.get(offset) & 0xFF;
+        if (length > MAX_ID_BYTES) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ========== Seqlock ==========
+
+    /**
+     * Waits until a page is stable.
+     *
+     * @return Sequence number to pass to {@link #validate}
+     */
+    static int beginRead(ByteBuffer buffer, int pageOffset) {
+        while (true) {
+            int sequence = (int) INT_HANDLE.getAcquire(buffer, pageOffset + PAGE_SEQUENCE);
+            if ((sequence & 1) == 0) {
+                return sequence;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * @return true if the page was not written since {@link #beginRead}
+     */
+    static boolean validate(ByteBuffer buffer, int pageOffset, int sequence) {
+        VarHandle.loadLoadFence();
+        return (int) INT_HANDLE.getVolatile(buffer, pageOffset + PAGE_SEQUENCE) == sequence;
+    }
+}
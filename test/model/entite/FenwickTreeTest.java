@@ -0,0 +1,75 @@
+package model.entite;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link FenwickTree} sums against a plain array.
+ * Amounts are whole numbers so every sum is exact.
+ */
+class FenwickTreeTest {
+
+    @Test
+    void emptyTreeSumsToZero() {
+        FenwickTree tree = new FenwickTree();
+        assertEquals(0.0, tree.prefixSum(10));
+        assertEquals(0.0, tree.rangeSum(1, 1000));
+        assertEquals(0.0, tree.rangeSum(5, 4));
+    }
+
+    @Test
+    void sumsMatchAPlainArrayWhileGrowing() {
+        Random random = new Random(7L);
+        FenwickTree tree = new FenwickTree();
+        double[] plain = new double[2001];
+
+        // Indices past the initial capacity force several doublings
+        for (int n = 0; n < 5000; n++) {
+            int index = 1 + random.nextInt(2000);
+            double amount = random.nextInt(201) - 100;
+            tree.add(index, amount);
+            plain[index] += amount;
+        }
+
+        double prefix = 0.0;
+        for (int index = 1; index <= 2000; index++) {
+            prefix += plain[index];
+            assertEquals(prefix, tree.prefixSum(index), "prefix " + index);
+        }
+        for (int n = 0; n < 1000; n++) {
+            int from = 1 + random.nextInt(2000);
+            int to = from + random.nextInt(2001 - from);
+            double expected = 0.0;
+            for (int index = from; index <= to; index++) {
+                expected += plain[index];
+            }
+            assertEquals(expected, tree.rangeSum(from, to), "range " + from + ".." + to);
+        }
+    }
+
+    @Test
+    void growingKeepsEarlierSums() {
+        FenwickTree tree = new FenwickTree();
+        for (int index = 1; index <= 64; index++) {
+            tree.add(index, index);
+        }
+        tree.add(1000, 1.0);
+
+        assertTrue(tree.getCapacity() >= 1000);
+        assertEquals(64 * 65 / 2, tree.prefixSum(64));
+        assertEquals(64 * 65 / 2, tree.prefixSum(999));
+        assertEquals(64 * 65 / 2 + 1, tree.prefixSum(1000));
+        assertEquals(1.0, tree.rangeSum(65, 5000));
+    }
+
+    @Test
+    void indexBelowOneIsRejected() {
+        FenwickTree tree = new FenwickTree();
+        assertThrows(IllegalArgumentException.class, () -> tree.add(0, 1.0));
+    }
+}
@@ -0,0 +1,58 @@
+package model.entite;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runtime plant parameters against the constants of the plant classes.
+ */
+class PlantParametersTest {
+
+    @Test
+    void defaultsBuildTheSamePlantAsTheClass() {
+        for (PlantType type : PlantType.values()) {
+            PowerPlant expected = type.create("p");
+            PowerPlant actual = new PlantParameters(type).createPlant("p");
+            assertEquals(expected.getClass(), actual.getClass());
+            assertEquals(expected.getPowerOutput(), actual.getPowerOutput(), type.getKey());
+            assertEquals(expected.getStorageCapacity(), actual.getStorageCapacity(), type.getKey());
+            assertEquals(expected.getDailyCost(), actual.getDailyCost(), type.getKey());
+            assertEquals(expected.getPollutionRate(), actual.getPollutionRate(), type.getKey());
+            assertEquals(expected.getRemainingTime(), actual.getRemainingTime(), type.getKey());
+            assertEquals(expected.getMaxLevel(), actual.getMaxLevel(), type.getKey());
+        }
+    }
+
+    @Test
+    void defaultsComeFromTheirOwnClass() {
+        PlantParameters nuclear = new PlantParameters(PlantType.NUCLEAR);
+        assertEquals(NuclearPlant.UPGRADE_COST_MULTIPLIER, nuclear.getUpgradeCostMultiplier());
+        assertEquals(NuclearPlant.MEAN_TIME_BETWEEN_FAILURES, nuclear.getMeanTimeBetweenFailures());
+        assertEquals(NuclearPlant.BASE_REPAIR_TIME, nuclear.getRepairTime());
+
+        PlantParameters wind = new PlantParameters(PlantType.WIND);
+        assertEquals(WindPlant.BASE_CONSTRUCTION_COST, wind.getConstructionCost());
+        assertEquals(WindPlant.POLLUTION_REDUCTION_RATE, wind.getPollutionReductionRate());
+    }
+
+    @Test
+    void overridesApplyToOneSetOnly() {
+        PlantParameters coal = new PlantParameters(PlantType.COAL);
+        coal.set("POWER_OUTPUT_GROWTH_RATE", "2.0");
+        coal.set("UPGRADE_TIME_BASE", "7");
+
+        assertEquals(2.0, coal.getPowerOutputGrowthRate());
+        assertEquals(CoalPlant.BASE_POWER_OUTPUT * 4.0, coal.computePowerOutput(3));
+        assertEquals(7, coal.getUpgradeTimeBase());
+        assertEquals(CoalPlant.POWER_OUTPUT_GROWTH_RATE,
+                new PlantParameters(PlantType.COAL).getPowerOutputGrowthRate());
+    }
+
+    @Test
+    void unknownNameIsRejected() {
+        PlantParameters solar = new PlantParameters(PlantType.SOLAR);
+        assertThrows(IllegalArgumentException.class, () -> solar.set("NOT_A_CONSTANT", "1"));
+    }
+}
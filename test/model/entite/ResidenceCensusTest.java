@@ -0,0 +1,70 @@
+package model.entite;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Level counts and slot bookkeeping of {@link ResidenceCensus}.
+ */
+class ResidenceCensusTest {
+
+    @Test
+    void countsFollowAddsRemovesAndLevelChanges() {
+        City city = new City("Census", 0.0);
+        for (int i = 0; i < 10; i++) {
+            Residence residence = new Residence("r-" + i);
+            residence.setLevel(1 + i % 2);
+            city.addResidence(residence);
+        }
+        ResidenceCensus census = city.getResidenceCensus();
+        assertEquals(5, census.getCount(1));
+        assertEquals(5, census.getCount(2));
+
+        city.getResidences().get(0).setLevel(4);
+        city.removeResidence(1);
+        assertEquals(4, census.getCount(1));
+        assertEquals(4, census.getCount(2));
+        assertEquals(1, census.getCount(4));
+        assertEquals(9, census.getTotalCount());
+    }
+
+    @Test
+    void vacantSlotsAreReused() {
+        City city = new City("Churn", 0.0);
+        for (int i = 0; i < 100; i++) {
+            city.addResidence(new Residence("r-" + i));
+        }
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 10; i++) {
+                city.removeResidence(0);
+            }
+            for (int i = 0; i < 10; i++) {
+                city.addResidence(new Residence("n-" + round + "-" + i));
+            }
+        }
+
+        ResidenceCensus census = city.getResidenceCensus();
+        assertEquals(100, census.getSlotCount());
+        assertEquals(100, census.getTotalCount());
+        for (int slot = 0; slot < census.getSlotCount(); slot++) {
+            assertEquals(1, census.getSlotLevel(slot));
+        }
+    }
+
+    @Test
+    void slotKeysFollowIdChanges() {
+        City city = new City("Keys", 0.0);
+        Residence residence = new Residence("before");
+        city.addResidence(residence);
+        residence.setId("after");
+        assertEquals(ResidenceCensus.keyOf("after"), city.getResidenceCensus().getSlotKey(0));
+    }
+
+    @Test
+    void negativePresizeIsRejected() {
+        City city = new City("Presize", 0.0);
+        assertThrows(IllegalArgumentException.class, () -> city.ensureResidenceCapacity(-1));
+    }
+}
@@ -0,0 +1,98 @@
+package model.entite;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Lazy, day-versioned values of a {@link Residence} inside a city.
+ */
+class ResidenceTest {
+
+    @Test
+    void valuesDeriveFromSeedIdAndDay() {
+        City city = city(3L);
+        Residence residence = add(city, "r-1", 2);
+
+        double min = Residence.computeEnergyDemandMin(2);
+        double max = Residence.computeEnergyDemandMax(2);
+        double expected = min + (max - min) * ResidenceCensus.uniform(3L, ResidenceCensus.keyOf("r-1"), 1,
+                ResidenceCensus.DEMAND_STREAM);
+        assertEquals(expected, residence.getEnergyDemand());
+
+        // Same seed, id and day in another city
+        City other = city(3L);
+        assertEquals(expected, add(other, "r-1", 2).getEnergyDemand());
+    }
+
+    @Test
+    void valuesAreRedrawnOnlyWhenTheDayChanges() {
+        City city = city(3L);
+        Residence residence = add(city, "r-1", 1);
+        double dayOne = residence.getEnergyDemand();
+        assertEquals(dayOne, residence.getEnergyDemand());
+
+        city.setCurrentDay(2);
+        double dayTwo = residence.getEnergyDemand();
+        assertNotEquals(dayOne, dayTwo);
+
+        city.setCurrentDay(1);
+        assertEquals(dayOne, residence.getEnergyDemand());
+    }
+
+    @Test
+    void levelChangeRedrawsWithinTheNewBounds() {
+        City city = city(3L);
+        Residence residence = add(city, "r-1", 1);
+        residence.getEnergyDemand();
+
+        residence.setLevel(5);
+        assertTrue(residence.getEnergyDemand() >= Residence.computeEnergyDemandMin(5));
+        assertEquals(Residence.computeEnergyDemandMax(5), residence.getEnergyDemandMax());
+    }
+
+    @Test
+    void setValuesHoldUntilTheNextDay() {
+        City city = city(3L);
+        Residence residence = add(city, "r-1", 1);
+        residence.getEnergyDemand();
+
+        // The residence is expired: setting must not be undone by the next read
+        city.setCurrentDay(2);
+        residence.setEnergyDemandMin(0.5);
+        residence.setEnergyDemandMax(0.75);
+        residence.setPurchasingPowerMin(3.0);
+        residence.setPurchasingPowerMax(4.0);
+        residence.setEnergyDemand(0.6);
+        assertEquals(0.5, residence.getEnergyDemandMin());
+        assertEquals(0.75, residence.getEnergyDemandMax());
+        assertEquals(3.0, residence.getPurchasingPowerMin());
+        assertEquals(4.0, residence.getPurchasingPowerMax());
+        assertEquals(0.6, residence.getEnergyDemand());
+
+        city.setCurrentDay(3);
+        assertEquals(Residence.computeEnergyDemandMin(1), residence.getEnergyDemandMin());
+    }
+
+    @Test
+    void setValuesHoldOnAFreshResidence() {
+        Residence residence = new Residence("fresh");
+        residence.setPurchasingPowerMax(99.0);
+        assertEquals(99.0, residence.getPurchasingPowerMax());
+    }
+
+    private static City city(long seed) {
+        City city = new City("Lazy", 0.0);
+        city.getResidenceCensus().setSeed(seed);
+        return city;
+    }
+
+    private static Residence add(City city, String id, int level) {
+        Residence residence = new Residence(id);
+        residence.setLevel(level);
+        city.addResidence(residence);
+        return residence;
+    }
+}
@@ -0,0 +1,236 @@
+package model.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.entite.City;
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+import model.simulation.CitySimulator;
+import model.simulation.OutageScheduler;
+import model.simulation.SimulationParameters;
+import model.sync.ByteBufferPool;
+import model.sync.DeltaDecoder;
+import model.sync.DeltaEncoder;
+
+/**
+ * Undo and redo of {@link CityHistory}, followed by a synchronized mirror.
+ */
+class CityHistoryTest {
+
+    private City city;
+    private CityHistory history;
+    private ByteBufferPool pool;
+    private DeltaEncoder encoder;
+    private DeltaDecoder decoder;
+    private City mirror;
+
+    @BeforeEach
+    void setUp() {
+        city = new City("History", 10_000.0);
+        city.getResidenceCensus().setSeed(5L);
+        PowerPlant coal = PlantType.COAL.create("coal-1");
+        coal.setStatus(PlantStatus.ACTIVE);
+        city.addPowerPlant(coal);
+        for (int i = 0; i < 50; i++) {
+            city.addResidence(new Residence("r-" + i));
+        }
+        history = new CityHistory(city);
+
+        pool = new ByteBufferPool();
+        encoder = new DeltaEncoder(pool);
+        decoder = new DeltaDecoder();
+        mirror = new City(null, 0.0);
+        sync();
+    }
+
+    @Test
+    void undoAndRedoRestoreTheCity() {
+        city.setTotalCoins(4000.0);
+        city.getResidences().get(3).setLevel(4);
+        city.addResidence(new Residence("r-new"));
+        history.commit("grow");
+
+        assertNotNull(history.undo());
+        assertEquals(10_000.0, city.getTotalCoins());
+        assertEquals(1, city.getResidences().get(3).getLevel());
+        assertEquals(50, city.getResidences().size());
+
+        assertNotNull(history.redo());
+        assertEquals(4000.0, city.getTotalCoins());
+        assertEquals(4, city.getResidences().get(3).getLevel());
+        assertEquals("r-new", city.getResidences().get(50).getId());
+    }
+
+    @Test
+    void undoOnlyMarksTheScalarsItChanges() {
+        city.setTotalCoins(4000.0);
+        history.commit("spend");
+        sync();
+
+        history.undo();
+        assertEquals(City.FIELD_TOTAL_COINS, city.getDirtyFields());
+    }
+
+    @Test
+    void plantReplacedByAnotherTypeReachesTheMirror() {
+        city.removePowerPlant(0);
+        PowerPlant nuclear = PlantType.NUCLEAR.create("nuclear-1");
+        nuclear.setStatus(PlantStatus.ACTIVE);
+        city.addPowerPlant(nuclear);
+        history.commit("rebuild");
+        sync();
+        assertMirrored();
+
+        history.undo();
+        assertEquals(PlantType.COAL, city.getPowerPlants().get(0).getType());
+        sync();
+        assertMirrored();
+
+        history.redo();
+        assertEquals(PlantType.NUCLEAR, city.getPowerPlants().get(0).getType());
+        sync();
+        assertMirrored();
+    }
+
+    @Test
+    void undoAndRedoOfResidencesReachTheMirror() {
+        city.removeResidence(10);
+        city.getResidences().get(0).setCurrentOccupancy(12);
+        history.commit("demolish");
+        sync();
+        assertMirrored();
+
+        for (int cycle = 0; cycle < 3; cycle++) {
+            history.undo();
+            sync();
+            assertMirrored();
+            history.redo();
+            sync();
+            assertMirrored();
+        }
+    }
+
+    @Test
+    void undoRedoCyclesReuseCensusSlots() {
+        for (int i = 0; i < 20; i++) {
+            city.addResidence(new Residence("extra-" + i));
+        }
+        history.commit("extend");
+        int slots = city.getResidenceCensus().getSlotCount();
+
+        for (int cycle = 0; cycle < 100; cycle++) {
+            history.undo();
+            history.redo();
+        }
+        assertEquals(70, city.getResidenceCensus().getTotalCount());
+        assertEquals(slots, city.getResidenceCensus().getSlotCount());
+    }
+
+    @Test
+    void outageSchedulerFollowsRestoredPlants() {
+        SimulationParameters parameters = new SimulationParameters("test");
+        parameters.getPlantParameters(PlantType.COAL).setMeanTimeBetweenFailures(1.0); // Fails every day
+        parameters.getPlantParameters(PlantType.COAL).setRepairTime(1000);
+        CitySimulator simulator = new CitySimulator(parameters);
+        OutageScheduler scheduler = new OutageScheduler(parameters, 1L);
+        simulator.setOutageScheduler(city, scheduler);
+
+        simulator.tick(city);
+        simulator.tick(city);
+        assertEquals(1, scheduler.getFailedCount());
+        PowerPlant failed = city.getPowerPlants().get(0);
+
+        city.removePowerPlant(0);
+        history.commit("demolish");
+        simulator.tick(city);
+        assertEquals(0, scheduler.getFailedCount());
+
+        history.undo(); // The plant comes back as a new object
+        assertTrue(city.getPowerPlants().get(0) != failed);
+        city.getPowerPlants().get(0).setStatus(PlantStatus.ACTIVE);
+        simulator.tick(city);
+        simulator.tick(city);
+        assertEquals(1, scheduler.getFailedCount());
+        assertTrue(scheduler.isFailed(city.getPowerPlants().get(0)));
+    }
+
+    @Test
+    void plantRestoredDownIsRepairedAgain() {
+        SimulationParameters parameters = new SimulationParameters("test");
+        parameters.getPlantParameters(PlantType.COAL).setMeanTimeBetweenFailures(1.0); // Fails every day
+        parameters.getPlantParameters(PlantType.COAL).setRepairTime(3);
+        CitySimulator simulator = new CitySimulator(parameters);
+        OutageScheduler scheduler = new OutageScheduler(parameters, 1L);
+        simulator.setOutageScheduler(city, scheduler);
+        PowerPlant plant = city.getPowerPlants().get(0);
+
+        simulator.tick(city);
+        simulator.tick(city);
+        assertEquals(PlantStatus.INACTIVE, plant.getStatus());
+        history.commit("failed");
+        parameters.getPlantParameters(PlantType.COAL).setMeanTimeBetweenFailures(Double.POSITIVE_INFINITY);
+        while (plant.getStatus() != PlantStatus.ACTIVE) {
+            simulator.tick(city);
+        }
+        history.commit("repaired");
+
+        history.undo(); // Same object, rewound to its failed state
+        assertSame(plant, city.getPowerPlants().get(0));
+        assertEquals(PlantStatus.INACTIVE, plant.getStatus());
+        simulator.tick(city);
+        assertTrue(scheduler.isFailed(plant));
+        for (int day = 0; day < 3; day++) {
+            simulator.tick(city);
+        }
+        assertEquals(PlantStatus.ACTIVE, plant.getStatus());
+        assertEquals(0, scheduler.getFailedCount());
+    }
+
+    // ========== Helpers ==========
+
+    private void sync() {
+        ByteBuffer frame = encoder.encode(city);
+        try {
+            decoder.apply(frame, mirror);
+        } finally {
+            pool.release(frame);
+        }
+    }
+
+    private void assertMirrored() {
+        assertEquals(city.getTotalCoins(), mirror.getTotalCoins());
+        List<PowerPlant> plants = city.getPowerPlants();
+        assertEquals(plants.size(), mirror.getPowerPlants().size());
+        for (int i = 0; i < plants.size(); i++) {
+            PowerPlant expected = plants.get(i);
+            PowerPlant actual = mirror.getPowerPlants().get(i);
+            assertSame(expected.getClass(), actual.getClass());
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getPowerOutput(), actual.getPowerOutput());
+            assertEquals(expected.getPollutionRate(), actual.getPollutionRate());
+            assertEquals(expected.getRemainingTime(), actual.getRemainingTime());
+        }
+        List<Residence> residences = city.getResidences();
+        assertEquals(residences.size(), mirror.getResidences().size());
+        for (int i = 0; i < residences.size(); i++) {
+            Residence expected = residences.get(i);
+            Residence actual = mirror.getResidences().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getLevel(), actual.getLevel());
+            assertEquals(expected.getCurrentOccupancy(), actual.getCurrentOccupancy());
+            assertEquals(expected.getEnergyDemand(), actual.getEnergyDemand());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package model.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link PersistentVector} against an {@link ArrayList}, and that
+ * earlier versions never change.
+ */
+class PersistentVectorTest {
+
+    @Test
+    void appendAndRemoveLastAcrossTrieLevels() {
+        // Past 32 * 32 + 32 and 32^3 + 32 elements the root grows a level
+        int size = 40_000;
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < size; i++) {
+            vector = vector.append(i);
+        }
+        assertEquals(size, vector.size());
+        assertContents(vector, size);
+
+        while (!vector.isEmpty()) {
+            vector = vector.removeLast();
+            if (vector.size() % 997 == 0 || vector.size() < 40) {
+                assertContents(vector, vector.size());
+            }
+        }
+        assertTrue(vector.isEmpty());
+    }
+
+    @Test
+    void randomUpdatesMatchAnArrayListAndKeepOldVersions() {
+        Random random = new Random(3L);
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> copies = new ArrayList<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || expected.isEmpty()) {
+                int value = random.nextInt();
+                vector = vector.append(value);
+                expected.add(value);
+            } else if (operation < 8) {
+                int index = random.nextInt(expected.size());
+                int value = random.nextInt();
+                vector = vector.set(index, value);
+                expected.set(index, value);
+            } else {
+                vector = vector.removeLast();
+                expected.remove(expected.size() - 1);
+            }
+            if (step % 500 == 0) {
+                versions.add(vector);
+                copies.add(new ArrayList<>(expected));
+            }
+        }
+
+        assertEquals(expected, toList(vector));
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(copies.get(i), toList(versions.get(i)), "version " + i);
+        }
+    }
+
+    @Test
+    void setSharesEverythingElse() {
+        PersistentVector<String> before = PersistentVector.empty();
+        for (int i = 0; i < 100; i++) {
+            before = before.append("v" + i);
+        }
+        PersistentVector<String> after = before.set(40, "changed");
+        assertEquals("v40", before.get(40));
+        assertEquals("changed", after.get(40));
+        assertEquals(before.get(39), after.get(39));
+        assertEquals(before.size(), after.size());
+    }
+
+    @Test
+    void outOfBoundsAccessIsRejected() {
+        PersistentVector<String> vector = PersistentVector.<String>empty().append("a");
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.set(1, "b"));
+        assertThrows(IllegalStateException.class, () -> PersistentVector.empty().removeLast());
+    }
+
+    private static void assertContents(PersistentVector<Integer> vector, int size) {
+        assertEquals(size, vector.size());
+        Iterator<Integer> iterator = vector.iterator();
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, vector.get(i));
+            assertEquals(i, iterator.next());
+        }
+        assertTrue(!iterator.hasNext());
+    }
+
+    private static <E> List<E> toList(PersistentVector<E> vector) {
+        List<E> list = new ArrayList<>(vector.size());
+        for (E element : vector) {
+            list.add(element);
+        }
+        return list;
+    }
+}
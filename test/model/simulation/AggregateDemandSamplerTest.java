@@ -0,0 +1,83 @@
+package model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import model.entite.City;
+import model.entite.Residence;
+
+/**
+ * Bucket totals of {@link AggregateDemandSampler} compared with the exact
+ * totals of {@link DailyDemandPass}.
+ */
+class AggregateDemandSamplerTest {
+
+    @Test
+    void samplesAreReproducibleFromSeedAndDay() {
+        City first = city(2000, 5L);
+        City second = city(2000, 5L);
+        AggregateDemandSampler sampler = new AggregateDemandSampler();
+
+        sampler.update(first);
+        sampler.update(second);
+        assertEquals(first.getTotalEnergyDemand(), second.getTotalEnergyDemand());
+        assertEquals(first.getAvgPurchasingPower(), second.getAvgPurchasingPower());
+
+        double dayOne = first.getTotalEnergyDemand();
+        first.setCurrentDay(2);
+        sampler.update(first);
+        assertNotEquals(dayOne, first.getTotalEnergyDemand());
+    }
+
+    @Test
+    void totalsStayWithinTheLevelBounds() {
+        // Small buckets are summed draw by draw, large ones approximated
+        for (int residences : new int[] { 10, 5000 }) {
+            City city = city(residences, 9L);
+            double min = 0.0;
+            double max = 0.0;
+            for (Residence residence : city.getResidences()) {
+                min += Residence.computeEnergyDemandMin(residence.getLevel());
+                max += Residence.computeEnergyDemandMax(residence.getLevel());
+            }
+            for (int day = 1; day <= 50; day++) {
+                city.setCurrentDay(day);
+                new AggregateDemandSampler().update(city);
+                assertTrue(city.getTotalEnergyDemand() >= min && city.getTotalEnergyDemand() <= max,
+                        "day " + day);
+            }
+        }
+    }
+
+    @Test
+    void meanMatchesTheExactPass() {
+        City city = city(3000, 11L);
+        AggregateDemandSampler sampler = new AggregateDemandSampler();
+        DailyDemandPass exact = new DailyDemandPass();
+
+        double sampled = 0.0;
+        double computed = 0.0;
+        for (int day = 1; day <= 200; day++) {
+            city.setCurrentDay(day);
+            sampler.update(city);
+            sampled += city.getTotalEnergyDemand();
+            exact.update(city);
+            computed += city.getTotalEnergyDemand();
+        }
+        assertEquals(1.0, sampled / computed, 0.002);
+    }
+
+    private static City city(int residences, long seed) {
+        City city = new City("Sampled", 0.0);
+        city.getResidenceCensus().setSeed(seed);
+        for (int i = 0; i < residences; i++) {
+            Residence residence = new Residence("r-" + i);
+            residence.setLevel(1 + i % 3);
+            city.addResidence(residence);
+        }
+        return city;
+    }
+}
@@ -0,0 +1,111 @@
+package model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import model.entite.City;
+import model.entite.PlantParameters;
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+
+/**
+ * Blackout warnings of {@link CapacityAdvisor} on a known demand series.
+ */
+class CapacityAdvisorTest {
+
+    @Test
+    void coveredDemandNeedsNoPlant() {
+        SimulationParameters parameters = new SimulationParameters("test");
+        City city = city(100);
+        CapacityAdvisor advisor = new CapacityAdvisor(parameters);
+        advisor.observe(city, 10.0);
+        addPlant(city, parameters, PlantType.COAL, PlantStatus.ACTIVE);
+
+        CapacityAdvice advice = advisor.advise(city);
+        assertEquals(10.0, advice.getForecastDemand(), 1e-9);
+        assertEquals(parameters.getPlantParameters(PlantType.COAL).getPowerOutput(), advice.getProjectedSupply());
+        assertFalse(advice.isBlackoutExpected());
+        assertNull(advice.getRecommendedType());
+    }
+
+    @Test
+    void shortfallRecommendsTheCheapestPlantsReadyInTime() {
+        SimulationParameters parameters = new SimulationParameters("test");
+        double coalOutput = parameters.getPlantParameters(PlantType.COAL).getPowerOutput();
+        City city = city(100);
+        CapacityAdvisor advisor = new CapacityAdvisor(parameters);
+        advisor.observe(city, 5.5 * coalOutput); // Calibrates the forecast to this demand
+        addPlant(city, parameters, PlantType.COAL, PlantStatus.ACTIVE);
+
+        CapacityAdvice advice = advisor.advise(city);
+        assertEquals(5.5 * coalOutput, advice.getForecastDemand(), 1e-6);
+        double gap = 4.5 * coalOutput;
+        assertEquals(gap, advice.getGap(), 1e-6);
+        assertTrue(advice.isBlackoutExpected());
+
+        PlantType expectedType = null;
+        double expectedCost = Double.MAX_VALUE;
+        for (PlantType type : PlantType.values()) {
+            PlantParameters plantParameters = parameters.getPlantParameters(type);
+            if (plantParameters.getPowerOutput() > 0.0
+                    && plantParameters.getConstructionTime() <= advisor.getHorizon()) {
+                double cost = Math.ceil(gap / plantParameters.getPowerOutput())
+                        * plantParameters.getConstructionCost();
+                if (cost < expectedCost) {
+                    expectedType = type;
+                    expectedCost = cost;
+                }
+            }
+        }
+        assertEquals(expectedType, advice.getRecommendedType());
+        assertEquals(expectedCost, advice.getRecommendedCost(), 1e-6);
+        assertTrue(advice.isReadyInTime());
+        double output = parameters.getPlantParameters(expectedType).getPowerOutput();
+        assertTrue(advice.getRecommendedCount() * output >= gap);
+        assertTrue((advice.getRecommendedCount() - 1) * output < gap);
+    }
+
+    @Test
+    void failedPlantsCountOnceRepairedWithinTheHorizon() {
+        SimulationParameters parameters = new SimulationParameters("test");
+        parameters.set("coal.MEAN_TIME_BETWEEN_FAILURES", "1"); // Fails the next day
+        City city = city(10);
+        CapacityAdvisor advisor = new CapacityAdvisor(parameters);
+        advisor.observe(city, 1.0);
+        PowerPlant coal = addPlant(city, parameters, PlantType.COAL, PlantStatus.ACTIVE);
+        OutageScheduler scheduler = new OutageScheduler(parameters, 1L);
+        scheduler.register(coal, 0);
+        scheduler.advanceTo(1);
+        assertEquals(PlantStatus.INACTIVE, coal.getStatus());
+
+        int repairDay = scheduler.getRepairDay(coal);
+        city.setCurrentDay(repairDay - advisor.getHorizon());
+        assertEquals(coal.getPowerOutput(), advisor.advise(city, scheduler).getProjectedSupply());
+        city.setCurrentDay(repairDay - advisor.getHorizon() - 1);
+        assertEquals(0.0, advisor.advise(city, scheduler).getProjectedSupply());
+        assertEquals(0.0, advisor.advise(city).getProjectedSupply());
+    }
+
+    private static City city(int residences) {
+        City city = new City("Advised", 0.0);
+        for (int i = 0; i < residences; i++) {
+            city.addResidence(new Residence("r-" + i));
+        }
+        return city;
+    }
+
+    private static PowerPlant addPlant(City city, SimulationParameters parameters, PlantType type,
+            PlantStatus status) {
+        PowerPlant plant = parameters.getPlantParameters(type).createPlant(city.nextPlantId(type));
+        plant.setStatus(status);
+        plant.setRemainingTime(0);
+        city.addPowerPlant(plant);
+        return plant;
+    }
+}
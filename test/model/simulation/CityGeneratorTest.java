@@ -0,0 +1,88 @@
+package model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import model.entite.Building;
+import model.entite.City;
+import model.entite.PlantType;
+import model.entite.Residence;
+
+/**
+ * Cities built by {@link CityGenerator}.
+ */
+class CityGeneratorTest {
+
+    @Test
+    void outputDoesNotDependOnTheThreadCount() {
+        City parallel = generator(true).generate("Parallel", CityGenerator.DEFAULT_INITIAL_COINS);
+        City sequential = generator(false).generate("Sequential", CityGenerator.DEFAULT_INITIAL_COINS);
+
+        List<Residence> expected = sequential.getResidences();
+        List<Residence> actual = parallel.getResidences();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getLevel(), actual.get(i).getLevel());
+            assertEquals(expected.get(i).getX(), actual.get(i).getX());
+            assertEquals(expected.get(i).getY(), actual.get(i).getY());
+        }
+        for (int level = 1; level <= Residence.DEFAULT_MAX_LEVEL; level++) {
+            assertEquals(sequential.getResidenceCensus().getCount(level),
+                    parallel.getResidenceCensus().getCount(level));
+        }
+    }
+
+    @Test
+    void buildingsGetDistinctTilesAndCleanMasks() {
+        City city = generator(true).generate("Grid", 0.0);
+        assertNotNull(city.getPollutionField());
+        Set<Long> tiles = new HashSet<>();
+        for (Building building : city.getPowerPlants()) {
+            assertEquals(0L, building.getDirtyFields());
+            assertTrue(tiles.add(tileOf(city, building)));
+        }
+        for (Building building : city.getResidences()) {
+            assertEquals(0L, building.getDirtyFields());
+            assertTrue(tiles.add(tileOf(city, building)));
+        }
+        assertEquals(0L, city.getDirtyFields());
+    }
+
+    @Test
+    void levelsBeyondTheMaximumAreRejected() {
+        CityGenerator generator = new CityGenerator(1L);
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.setLevelWeights(new double[Residence.DEFAULT_MAX_LEVEL + 1]));
+    }
+
+    /**
+     * Index of the building's tile, checking that it lies on the grid.
+     */
+    private static long tileOf(City city, Building building) {
+        int width = city.getPollutionField().getWidth();
+        int height = city.getPollutionField().getHeight();
+        assertTrue(building.getX() >= 0 && building.getX() < width, building.getId());
+        assertTrue(building.getY() >= 0 && building.getY() < height, building.getId());
+        return (long) building.getY() * width + building.getX();
+    }
+
+    private static CityGenerator generator(boolean parallel) {
+        CityGenerator generator = new CityGenerator(21L);
+        generator.setResidenceCount(5000);
+        generator.setLevelWeights(4.0, 0.0, 2.0, 1.0, 1.0);
+        generator.setPlantCount(PlantType.COAL, 3);
+        generator.setPlantCount(PlantType.SOLAR, 2);
+        generator.setLocalPollution(true);
+        generator.setParallel(parallel);
+        return generator;
+    }
+}
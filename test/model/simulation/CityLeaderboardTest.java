@@ -0,0 +1,142 @@
+package model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import model.entite.City;
+
+/**
+ * Rankings of {@link CityLeaderboard}, including under concurrent updates.
+ */
+class CityLeaderboardTest {
+
+    @Test
+    void ranksFollowEachMetricDirection() {
+        CityLeaderboard leaderboard = new CityLeaderboard();
+        leaderboard.update(city("Rich", 900.0, 40.0));
+        leaderboard.update(city("Clean", 100.0, 5.0));
+        leaderboard.update(city("Middle", 500.0, 20.0));
+
+        assertEquals(1, leaderboard.rankOf("Rich", LeaderboardMetric.TOTAL_COINS));
+        assertEquals(3, leaderboard.rankOf("Clean", LeaderboardMetric.TOTAL_COINS));
+        assertEquals(1, leaderboard.rankOf("Clean", LeaderboardMetric.TOTAL_POLLUTION));
+        assertEquals(3, leaderboard.rankOf("Rich", LeaderboardMetric.TOTAL_POLLUTION));
+
+        List<LeaderboardEntry> top = leaderboard.top(LeaderboardMetric.TOTAL_COINS, 2);
+        assertEquals(2, top.size());
+        assertEquals("Rich", top.get(0).getCityName());
+        assertEquals(900.0, top.get(0).getScore());
+        assertEquals("Middle", top.get(1).getCityName());
+        assertEquals(2, top.get(1).getRank());
+    }
+
+    @Test
+    void updatesMoveAndRemovalsDropCities() {
+        CityLeaderboard leaderboard = new CityLeaderboard();
+        City a = city("A", 100.0, 0.0);
+        leaderboard.update(a);
+        leaderboard.update(city("B", 200.0, 0.0));
+
+        a.setTotalCoins(300.0);
+        leaderboard.update(a);
+        assertEquals(1, leaderboard.rankOf("A", LeaderboardMetric.TOTAL_COINS));
+        assertEquals(2, leaderboard.size());
+
+        leaderboard.remove("A");
+        assertEquals(-1, leaderboard.rankOf("A", LeaderboardMetric.TOTAL_COINS));
+        assertEquals(1, leaderboard.rankOf("B", LeaderboardMetric.TOTAL_COINS));
+        assertEquals(1, leaderboard.top(LeaderboardMetric.TOTAL_COINS, 10).size());
+    }
+
+    @Test
+    void concurrentUpdatesKeepEveryCityOnce() throws Exception {
+        CityLeaderboard leaderboard = new CityLeaderboard();
+        int threads = 4;
+        int citiesPerThread = 250;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<City>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                List<City> cities = new ArrayList<>();
+                for (int i = 0; i < citiesPerThread; i++) {
+                    cities.add(city("city-" + thread + "-" + i, 0.0, 0.0));
+                }
+                for (int day = 1; day <= 20; day++) {
+                    for (City city : cities) {
+                        city.setTotalCoins((city.getName().hashCode() & 0xFFFF) * day);
+                        leaderboard.update(city);
+                    }
+                }
+                return cities;
+            }));
+        }
+        List<City> all = new ArrayList<>();
+        for (Future<List<City>> future : futures) {
+            all.addAll(future.get());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        all.sort(Comparator.comparingDouble(City::getTotalCoins).reversed().thenComparing(City::getName));
+        assertEquals(all.size(), leaderboard.size());
+        List<LeaderboardEntry> top = leaderboard.top(LeaderboardMetric.TOTAL_COINS, all.size());
+        assertEquals(all.size(), top.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.get(i).getName(), top.get(i).getCityName());
+            assertEquals(i + 1, leaderboard.rankOf(all.get(i).getName(), LeaderboardMetric.TOTAL_COINS));
+        }
+    }
+
+    @Test
+    void concurrentUpdatesOfOneCityKeepOneEntry() throws Exception {
+        CityLeaderboard leaderboard = new CityLeaderboard();
+        leaderboard.update(city("Other", 500.0, 0.0));
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                // Each thread ranks its own copy of the same city
+                City city = city("Shared", 0.0, 0.0);
+                for (int i = 0; i < 2000; i++) {
+                    city.setTotalCoins(thread * 2000 + i);
+                    leaderboard.update(city);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(2, leaderboard.size());
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            assertEquals(2, leaderboard.top(metric, 10).size(), metric.name());
+        }
+        double coins = leaderboard.top(LeaderboardMetric.TOTAL_COINS, 10).stream()
+                .filter(entry -> entry.getCityName().equals("Shared")).findFirst().get().getScore();
+        assertEquals(coins > 500.0 ? 1 : 2, leaderboard.rankOf("Shared", LeaderboardMetric.TOTAL_COINS));
+
+        leaderboard.remove("Shared");
+        assertEquals(1, leaderboard.top(LeaderboardMetric.TOTAL_COINS, 10).size());
+    }
+
+    private static City city(String name, double coins, double pollution) {
+        City city = new City(name, coins);
+        city.setTotalPollution(pollution);
+        return city;
+    }
+}
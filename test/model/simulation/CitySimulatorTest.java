@@ -0,0 +1,45 @@
+package model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import model.entite.City;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+
+/**
+ * Player actions and daily steps of {@link CitySimulator}.
+ */
+class CitySimulatorTest {
+
+    @Test
+    void plantIdsStayUniqueAfterRemovals() {
+        CitySimulator simulator = new CitySimulator(new SimulationParameters("test"));
+        City city = new City("Ids", 100000.0);
+        simulator.build(city, PlantType.COAL);
+        simulator.build(city, PlantType.COAL);
+        city.removePowerPlant(0);
+        PowerPlant rebuilt = simulator.build(city, PlantType.COAL);
+
+        assertNotNull(rebuilt);
+        assertEquals("coal-3", rebuilt.getId());
+        Set<String> ids = new HashSet<>();
+        for (PowerPlant plant : city.getPowerPlants()) {
+            ids.add(plant.getId());
+        }
+        assertEquals(city.getPowerPlants().size(), ids.size());
+    }
+
+    @Test
+    void sweepCitiesAreReproducibleFromTheirSeed() {
+        SimulationParameters parameters = new SimulationParameters("test");
+        SweepResult first = ParameterSweepRunner.simulate(parameters, 17L, 60);
+        SweepResult second = ParameterSweepRunner.simulate(parameters, 17L, 60);
+        assertEquals(first.toCsvRow(), second.toCsvRow());
+    }
+}
@@ -0,0 +1,75 @@
+package model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import model.entite.City;
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+
+/**
+ * Dispatch, revenue and happiness of {@link DayRules}.
+ */
+class DayRulesTest {
+
+    @Test
+    void surplusChargesAndShortfallDrainsStorage() {
+        City city = new City("Grid", 0.0);
+        PowerPlant plant = PlantType.BATTERY_STORAGE.create("battery-1");
+        plant.setStatus(PlantStatus.ACTIVE);
+        city.addPowerPlant(plant);
+        DayRules rules = new DayRules();
+
+        assertEquals(40.0, rules.dispatch(city, 100.0, 40.0));
+        assertEquals(60.0, plant.getCurrentEnergyStored());
+
+        assertEquals(90.0, rules.dispatch(city, 50.0, 90.0));
+        assertEquals(20.0, plant.getCurrentEnergyStored());
+
+        // Only 20 stored left: 30 of the 50 missing cannot be served
+        assertEquals(70.0, rules.dispatch(city, 50.0, 100.0));
+        assertEquals(0.0, plant.getCurrentEnergyStored());
+    }
+
+    @Test
+    void inactivePlantsNeitherStoreNorRelease() {
+        City city = new City("Grid", 0.0);
+        PowerPlant plant = PlantType.BATTERY_STORAGE.create("battery-1");
+        plant.setStatus(PlantStatus.INACTIVE);
+        plant.setCurrentEnergyStored(500.0);
+        city.addPowerPlant(plant);
+
+        assertEquals(10.0, new DayRules().dispatch(city, 10.0, 30.0));
+        assertEquals(500.0, plant.getCurrentEnergyStored());
+    }
+
+    @Test
+    void revenueIsCappedByPurchasingPower() {
+        City city = new City("Market", 0.0);
+        city.setElectricityPrice(12.0);
+        city.setAvgPurchasingPower(10.0);
+        assertEquals(100.0, new DayRules().revenue(city, 10.0));
+    }
+
+    @Test
+    void happinessMovesTowardItsTargetByTheInertia() {
+        City city = new City("Mood", 0.0);
+        city.setGlobalHappiness(50.0);
+        DayRules rules = new DayRules();
+        rules.set("HAPPINESS_INERTIA", "0.5");
+
+        rules.updateHappiness(city, 1.0);
+        assertEquals(75.0, city.getGlobalHappiness());
+    }
+
+    @Test
+    void rulesAreLoadedWithTheParameters() {
+        SimulationParameters parameters = new SimulationParameters("tuned");
+        parameters.set("rules.PRICE_HAPPINESS_FACTOR", "80");
+        assertEquals(80.0, parameters.getRules().getPriceHappinessFactor());
+        assertThrows(IllegalArgumentException.class, () -> parameters.set("rules.UNKNOWN", "1"));
+    }
+}
@@ -0,0 +1,87 @@
+package model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import model.entite.City;
+import model.entite.Residence;
+
+/**
+ * Forecasts of {@link DemandForecaster} on series with a known answer.
+ */
+class DemandForecasterTest {
+
+    @Test
+    void linearGrowthIsProjectedExactly() {
+        City city = new City("Growing", 0.0);
+        DemandForecaster forecaster = new DemandForecaster();
+        double mean = meanDemand(city, 2);
+        for (int day = 0; day < 30; day++) {
+            grow(city, 2, day == 0 ? 100 : 10);
+            forecaster.observe(city.getResidenceCensus(), (100 + 10 * day) * mean);
+        }
+
+        assertEquals(390.0, forecaster.getCount(2), 1e-9);
+        assertEquals(10.0, forecaster.getTrend(2), 1e-9);
+        assertEquals(1.0, forecaster.getCalibration(), 1e-12);
+        assertEquals(390.0 * mean, forecaster.forecast(0), 1e-6);
+        assertEquals(460.0 * mean, forecaster.forecast(7), 1e-6);
+    }
+
+    @Test
+    void calibrationAbsorbsOverriddenDemand() {
+        City city = new City("Hungry", 0.0);
+        DemandForecaster forecaster = new DemandForecaster();
+        grow(city, 1, 50);
+        grow(city, 3, 20);
+        double expected = 50 * meanDemand(city, 1) + 20 * meanDemand(city, 3);
+        for (int day = 0; day < 10; day++) {
+            forecaster.observe(city.getResidenceCensus(), 1.5 * expected);
+        }
+
+        assertEquals(1.5, forecaster.getCalibration(), 1e-12);
+        assertEquals(1.5 * expected, forecaster.forecast(5), 1e-6);
+    }
+
+    @Test
+    void decliningSeriesNeverForecastsNegativeDemand() {
+        City city = new City("Shrinking", 0.0);
+        DemandForecaster forecaster = new DemandForecaster();
+        grow(city, 1, 30);
+        forecaster.observe(city.getResidenceCensus(), 30 * meanDemand(city, 1));
+        for (int i = 0; i < 10; i++) {
+            city.removeResidence(city.getResidences().size() - 1);
+        }
+        forecaster.observe(city.getResidenceCensus(), 20 * meanDemand(city, 1));
+
+        assertEquals(-10.0, forecaster.getTrend(1), 1e-9);
+        assertEquals(10.0 * meanDemand(city, 1), forecaster.forecast(1), 1e-6);
+        assertEquals(0.0, forecaster.forecast(5));
+
+        forecaster.reset();
+        assertEquals(0, forecaster.getObservations());
+        assertEquals(0.0, forecaster.forecast(1));
+    }
+
+    @Test
+    void smoothingFactorsAreValidated() {
+        assertThrows(IllegalArgumentException.class, () -> new DemandForecaster(0.0, 0.1, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> new DemandForecaster(0.3, 1.5, 0.1));
+    }
+
+    private static void grow(City city, int level, int count) {
+        for (int i = 0; i < count; i++) {
+            Residence residence = new Residence("r-" + city.getResidences().size());
+            residence.setLevel(level);
+            city.addResidence(residence);
+        }
+    }
+
+    private static double meanDemand(City city, int level) {
+        double growthRate = city.getResidenceCensus().getDemandGrowthRate();
+        return 0.5 * (Residence.computeEnergyDemandMin(level, growthRate)
+                + Residence.computeEnergyDemandMax(level, growthRate));
+    }
+}
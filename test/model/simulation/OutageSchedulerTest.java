@@ -0,0 +1,128 @@
+package model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+
+/**
+ * Failure and repair events of {@link OutageScheduler}.
+ */
+class OutageSchedulerTest {
+
+    @Test
+    void failedPlantIsRepairedAfterTheRepairTime() {
+        SimulationParameters parameters = new SimulationParameters("test");
+        parameters.set("coal.MEAN_TIME_BETWEEN_FAILURES", "1"); // Fails the next day
+        parameters.set("coal.BASE_REPAIR_TIME", "3");
+        OutageScheduler scheduler = new OutageScheduler(parameters, 1L);
+        PowerPlant plant = activePlant(PlantType.COAL);
+        scheduler.register(plant, 1);
+
+        assertEquals(1, scheduler.advanceTo(2));
+        assertEquals(PlantStatus.INACTIVE, plant.getStatus());
+        assertTrue(scheduler.isFailed(plant));
+        assertEquals(1, scheduler.getFailedCount());
+        assertEquals(5, scheduler.getRepairDay(plant));
+
+        assertEquals(0, scheduler.advanceTo(4));
+        assertEquals(PlantStatus.INACTIVE, plant.getStatus());
+
+        scheduler.advanceTo(5);
+        assertEquals(PlantStatus.ACTIVE, plant.getStatus());
+        assertFalse(scheduler.isFailed(plant));
+        assertEquals(0, scheduler.getFailedCount());
+        assertEquals(-1, scheduler.getRepairDay(plant));
+    }
+
+    @Test
+    void failureOfAnInactivePlantIsRescheduled() {
+        SimulationParameters parameters = new SimulationParameters("test");
+        parameters.set("solar.MEAN_TIME_BETWEEN_FAILURES", "1");
+        OutageScheduler scheduler = new OutageScheduler(parameters, 1L);
+        PowerPlant plant = PlantType.SOLAR.create("solar-1"); // Under construction
+
+        scheduler.register(plant, 1);
+        assertEquals(3, scheduler.advanceTo(4));
+        assertEquals(PlantStatus.UNDER_CONSTRUCTION, plant.getStatus());
+        assertEquals(0, scheduler.getFailedCount());
+    }
+
+    @Test
+    void unregisteredPlantNoLongerFails() {
+        SimulationParameters parameters = new SimulationParameters("test");
+        parameters.set("wind.MEAN_TIME_BETWEEN_FAILURES", "1");
+        OutageScheduler scheduler = new OutageScheduler(parameters, 1L);
+        PowerPlant plant = activePlant(PlantType.WIND);
+
+        scheduler.register(plant, 1);
+        scheduler.unregister(plant);
+        assertEquals(0, scheduler.advanceTo(100));
+        assertEquals(PlantStatus.ACTIVE, plant.getStatus());
+    }
+
+    @Test
+    void plantWithoutFailureRateNeverFails() {
+        SimulationParameters parameters = new SimulationParameters("test");
+        parameters.set("hydro.MEAN_TIME_BETWEEN_FAILURES", "Infinity");
+        OutageScheduler scheduler = new OutageScheduler(parameters, 1L);
+        PowerPlant plant = activePlant(PlantType.HYDRO);
+
+        scheduler.register(plant, 1);
+        assertEquals(0, scheduler.advanceTo(Integer.MAX_VALUE - 1));
+        assertEquals(PlantStatus.ACTIVE, plant.getStatus());
+    }
+
+    @Test
+    void failureDelaysHaveTheMeanTimeBetweenFailures() {
+        OutageScheduler scheduler = new OutageScheduler(new SimulationParameters("test"), 7L);
+        int samples = 20000;
+        double total = 0.0;
+        for (int i = 0; i < samples; i++) {
+            total += scheduler.sampleGeometric(1.0 / 50.0);
+        }
+        assertEquals(50.0, total / samples, 1.5);
+    }
+
+    @Test
+    void sameSeedGivesTheSameOutages() {
+        assertEquals(outageDays(42L), outageDays(42L));
+    }
+
+    /**
+     * @return Days on which each of ten plants failed over a year
+     */
+    private static List<Integer> outageDays(long seed) {
+        OutageScheduler scheduler = new OutageScheduler(new SimulationParameters("test"), seed);
+        List<PowerPlant> plants = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            PowerPlant plant = activePlant(PlantType.WIND);
+            plants.add(plant);
+            scheduler.register(plant, 1);
+        }
+        List<Integer> days = new ArrayList<>();
+        for (int day = 1; day <= 365; day++) {
+            scheduler.advanceTo(day);
+            for (int i = 0; i < plants.size(); i++) {
+                if (scheduler.getRepairDay(plants.get(i)) > day) {
+                    days.add(day * 100 + i);
+                }
+            }
+        }
+        return days;
+    }
+
+    private static PowerPlant activePlant(PlantType type) {
+        PowerPlant plant = type.create(type.getKey() + "-1");
+        plant.setStatus(PlantStatus.ACTIVE);
+        return plant;
+    }
+}
@@ -0,0 +1,93 @@
+package model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import model.entite.PollutionField;
+
+/**
+ * Mass balance and stability of {@link PollutionDiffusion}.
+ */
+class PollutionDiffusionTest {
+
+    @Test
+    void diffusionAloneConservesMass() {
+        // Small grid on the calling thread, large one split into parallel bands
+        for (int[] size : new int[][] { { 1, 9 }, { 9, 1 }, { 37, 23 }, { 300, 300 } }) {
+            PollutionField field = field(size[0], size[1], PollutionField.MAX_DIFFUSION_RATE, 0.0f);
+            double mass = mass(field);
+            PollutionDiffusion diffusion = new PollutionDiffusion();
+            for (int day = 0; day < 50; day++) {
+                diffusion.step(field);
+            }
+            assertEquals(mass, mass(field), mass * 1e-5, size[0] + "x" + size[1]);
+        }
+    }
+
+    @Test
+    void decayRemovesItsShareEachDay() {
+        PollutionField field = field(40, 30, PollutionField.DEFAULT_DIFFUSION_RATE, 0.1f);
+        double mass = mass(field);
+        new PollutionDiffusion().step(field);
+        assertEquals(0.9 * mass, mass(field), mass * 1e-5);
+    }
+
+    @Test
+    void maximumRateStaysBoundedAndNonNegative() {
+        // A checkerboard is the mode an explicit scheme amplifies first; at
+        // the maximum rate it only flips sign, so it must not grow
+        int width = 64;
+        int height = 48;
+        PollutionField field = new PollutionField(width, height);
+        field.setDiffusionRate(PollutionField.MAX_DIFFUSION_RATE);
+        field.setDecayRate(0.0f);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                field.emit(x, y, (x + y) % 2 == 0 ? 100.0f : 0.0f);
+            }
+        }
+        field.emit(10, 10, 1000.0f);
+
+        double mass = mass(field);
+        PollutionDiffusion diffusion = new PollutionDiffusion();
+        float previousMax = Float.MAX_VALUE;
+        for (int day = 0; day < 200; day++) {
+            diffusion.step(field);
+            float max = 0.0f;
+            for (float value : field.getConcentration()) {
+                assertTrue(value >= 0.0f, "day " + day);
+                max = Math.max(max, value);
+            }
+            assertTrue(max <= previousMax * (1.0f + 1e-6f), "day " + day);
+            previousMax = max;
+        }
+        assertEquals(mass, mass(field), mass * 1e-5);
+    }
+
+    /**
+     * Field with a deterministic, uneven initial concentration.
+     */
+    private static PollutionField field(int width, int height, float diffusionRate, float decayRate) {
+        PollutionField field = new PollutionField(width, height);
+        field.setDiffusionRate(diffusionRate);
+        field.setDecayRate(decayRate);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                field.emit(x, y, (x * 7 + y * 13) % 11);
+            }
+        }
+        field.emit(0, 0, 500.0f);
+        field.emit(width - 1, height - 1, 250.0f);
+        return field;
+    }
+
+    private static double mass(PollutionField field) {
+        double mass = 0.0;
+        for (float value : field.getConcentration()) {
+            mass += value;
+        }
+        return mass;
+    }
+}
@@ -0,0 +1,88 @@
+package model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link RankTree} against a sorted list of the same pairs.
+ */
+class RankTreeTest {
+
+    private static final Comparator<Map.Entry<String, Double>> ORDER = Comparator
+            .<Map.Entry<String, Double>>comparingDouble(Map.Entry::getValue)
+            .thenComparing(Map.Entry::getKey);
+
+    @Test
+    void randomUpdatesMatchASortedList() {
+        Random random = new Random(11L);
+        RankTree root = null;
+        Map<String, Double> keys = new TreeMap<>();
+
+        for (int step = 0; step < 5000; step++) {
+            String name = "city-" + random.nextInt(300);
+            Double previous = keys.get(name);
+            if (previous != null) {
+                root = RankTree.remove(root, previous, name);
+                keys.remove(name);
+            }
+            if (random.nextInt(4) != 0) {
+                double key = random.nextInt(50); // Many ties, broken by name
+                root = RankTree.insert(root, key, name);
+                keys.put(name, key);
+            }
+        }
+
+        List<Map.Entry<String, Double>> expected = new ArrayList<>(keys.entrySet());
+        expected.sort(ORDER);
+        assertEquals(expected.size(), RankTree.size(root));
+        for (int i = 0; i < expected.size(); i++) {
+            Map.Entry<String, Double> entry = expected.get(i);
+            assertEquals(i, RankTree.countBefore(root, entry.getValue(), entry.getKey()), entry.getKey());
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Double> collected = new ArrayList<>();
+        RankTree.collect(root, expected.size(), names, collected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getKey(), names.get(i));
+            assertEquals(expected.get(i).getValue(), collected.get(i));
+        }
+    }
+
+    @Test
+    void olderRootsAreUnchangedByUpdates() {
+        RankTree root = null;
+        for (int i = 0; i < 100; i++) {
+            root = RankTree.insert(root, i, "city-" + i);
+        }
+        RankTree snapshot = root;
+
+        root = RankTree.remove(root, 10.0, "city-10");
+        root = RankTree.insert(root, -1.0, "newcomer");
+
+        assertEquals(100, RankTree.size(snapshot));
+        assertEquals(10, RankTree.countBefore(snapshot, 10.0, "city-10"));
+        assertEquals(0, RankTree.countBefore(snapshot, -1.0, "newcomer"));
+        assertEquals(100, RankTree.size(root));
+        assertEquals(1, RankTree.countBefore(root, 0.0, "city-0"));
+    }
+
+    @Test
+    void collectStopsAtTheLimit() {
+        RankTree root = null;
+        for (int i = 0; i < 10; i++) {
+            root = RankTree.insert(root, 10 - i, "city-" + i);
+        }
+        List<String> names = new ArrayList<>();
+        RankTree.collect(root, 3, names, new ArrayList<>());
+        assertEquals(List.of("city-9", "city-8", "city-7"), names);
+    }
+}
@@ -0,0 +1,169 @@
+package model.sync;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.entite.City;
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+
+/**
+ * Round trips of cities through {@link CityJsonWriter} and
+ * {@link CityJsonReader}.
+ */
+class CityJsonTest {
+
+    private City city;
+
+    @BeforeEach
+    void setUp() {
+        city = new City("Json \"City\" é", 5000.25);
+        city.setCurrentDay(12);
+        city.setElectricityPrice(0.1);
+        city.getResidenceCensus().setSeed(-7L);
+        city.getResidenceCensus().setDemandGrowthRate(1.3);
+
+        PowerPlant coal = PlantType.COAL.create("coal-1");
+        coal.setStatus(PlantStatus.ACTIVE);
+        coal.setLocation(3, 4);
+        coal.setCurrentEnergyStored(1.0 / 3.0);
+        city.addPowerPlant(coal);
+        PowerPlant solar = PlantType.SOLAR.create("solar-1");
+        solar.setRemainingTime(2);
+        city.addPowerPlant(solar);
+        for (int i = 0; i < 50; i++) {
+            Residence residence = new Residence("r-" + i);
+            residence.setLevel(1 + i % 5);
+            residence.setLocation(i, -i);
+            residence.setCurrentOccupancy(i);
+            residence.setSupplied(i % 3 == 0);
+            city.addResidence(residence);
+        }
+    }
+
+    // ========== Round Trips ==========
+
+    @Test
+    void readCityMatchesTheWrittenOne() throws IOException {
+        City copy = read(write(city));
+
+        assertEquals(city.getName(), copy.getName());
+        assertEquals(city.getCurrentDay(), copy.getCurrentDay());
+        assertEquals(city.getTotalCoins(), copy.getTotalCoins());
+        assertEquals(city.getElectricityPrice(), copy.getElectricityPrice());
+        assertEquals(city.getResidenceCensus().getSeed(), copy.getResidenceCensus().getSeed());
+        assertEquals(city.getResidenceCensus().getDemandGrowthRate(),
+                copy.getResidenceCensus().getDemandGrowthRate());
+
+        List<PowerPlant> plants = city.getPowerPlants();
+        assertEquals(plants.size(), copy.getPowerPlants().size());
+        for (int i = 0; i < plants.size(); i++) {
+            PowerPlant expected = plants.get(i);
+            PowerPlant actual = copy.getPowerPlants().get(i);
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getX(), actual.getX());
+            assertEquals(expected.getY(), actual.getY());
+            assertEquals(expected.getPowerOutput(), actual.getPowerOutput());
+            assertEquals(expected.getCurrentEnergyStored(), actual.getCurrentEnergyStored());
+            assertEquals(expected.getRemainingTime(), actual.getRemainingTime());
+        }
+
+        List<Residence> residences = city.getResidences();
+        assertEquals(residences.size(), copy.getResidences().size());
+        for (int i = 0; i < residences.size(); i++) {
+            Residence expected = residences.get(i);
+            Residence actual = copy.getResidences().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getLevel(), actual.getLevel());
+            assertEquals(expected.getX(), actual.getX());
+            assertEquals(expected.getY(), actual.getY());
+            assertEquals(expected.getCurrentOccupancy(), actual.getCurrentOccupancy());
+            assertEquals(expected.isSupplied(), actual.isSupplied());
+            // Derived again from the census rather than read back
+            assertEquals(expected.getEnergyDemand(), actual.getEnergyDemand());
+            assertEquals(expected.getPurchasingPower(), actual.getPurchasingPower());
+        }
+    }
+
+    @Test
+    void reexportIsByteForByteIdentical() throws IOException {
+        byte[] first = write(city);
+        assertArrayEquals(first, write(read(first)));
+    }
+
+    @Test
+    void dailyValuesAreNotWritten() throws IOException {
+        String json = new String(write(city), StandardCharsets.UTF_8);
+        assertFalse(json.contains("\"energyDemand\""));
+        assertFalse(json.contains("\"purchasingPower\""));
+    }
+
+    @Test
+    void plantIdsStayUniqueAfterAnImport() throws IOException {
+        city.removePowerPlant(city.getPowerPlants().size() - 1);
+        City copy = read(write(city));
+        assertEquals(city.getPlantSerial(), copy.getPlantSerial());
+        assertEquals(city.nextPlantId(PlantType.COAL), copy.nextPlantId(PlantType.COAL));
+    }
+
+    // ========== Malformed Documents ==========
+
+    @Test
+    void negativeCountsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> read("{\"powerPlantCount\":-1}"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"residenceCount\":-1}"));
+    }
+
+    @Test
+    void plantTypeMustComeFirst() {
+        assertThrows(IllegalArgumentException.class,
+                () -> read("{\"powerPlants\":[{\"id\":\"coal-1\",\"type\":\"coal\"}]}"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"powerPlants\":[{}]}"));
+    }
+
+    @Test
+    void hugeCountsAreOnlyHints() throws IOException {
+        City copy = read("{\"powerPlantCount\":2147483647,\"powerPlants\":[],"
+                + "\"residenceCount\":2147483647,\"residences\":[{\"id\":\"r\"}]}");
+        assertEquals(0, copy.getPowerPlants().size());
+        assertEquals(1, copy.getResidences().size());
+    }
+
+    @Test
+    void newerFormatIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> read("{\"formatVersion\":" + (CityJsonWriter.FORMAT_VERSION + 1) + "}"));
+    }
+
+    // ========== Helpers ==========
+
+    private static byte[] write(City city) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new CityJsonWriter().write(city, Channels.newChannel(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static City read(byte[] json) throws IOException {
+        return new CityJsonReader().read(Channels.newChannel(new ByteArrayInputStream(json)));
+    }
+
+    private static City read(String json) throws IOException {
+        return read(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
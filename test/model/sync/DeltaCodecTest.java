@@ -0,0 +1,257 @@
+package model.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.entite.City;
+import model.entite.PlantStatus;
+import model.entite.PlantType;
+import model.entite.PowerPlant;
+import model.entite.Residence;
+
+/**
+ * Round trips of {@link DeltaEncoder} frames through {@link DeltaDecoder}.
+ */
+class DeltaCodecTest {
+
+    private ByteBufferPool pool;
+    private DeltaEncoder encoder;
+    private DeltaDecoder decoder;
+    private City city;
+    private City mirror;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ByteBufferPool();
+        encoder = new DeltaEncoder(pool);
+        decoder = new DeltaDecoder();
+        city = new City("Server", 5000.0);
+        city.getResidenceCensus().setSeed(42L);
+        mirror = new City(null, 0.0);
+
+        PowerPlant coal = PlantType.COAL.create("coal-1");
+        coal.setStatus(PlantStatus.ACTIVE);
+        coal.setLocation(3, 4);
+        city.addPowerPlant(coal);
+        city.addPowerPlant(PlantType.SOLAR.create("solar-1"));
+        for (int i = 0; i < 20; i++) {
+            Residence residence = new Residence("r-" + i);
+            residence.setLevel(1 + i % 5);
+            residence.setCurrentOccupancy(i);
+            city.addResidence(residence);
+        }
+    }
+
+    // ========== Round Trips ==========
+
+    @Test
+    void fullFrameRebuildsTheCity() {
+        sync();
+        assertMirrored();
+    }
+
+    @Test
+    void deltaFramesCarryChangedFields() {
+        sync();
+        city.setTotalCoins(1234.5);
+        city.setCurrentDay(7);
+        city.getPowerPlants().get(1).setCurrentEnergyStored(42.0);
+        city.getResidences().get(5).setLevel(4);
+        city.getResidences().get(9).setEnergyDemand(0.5);
+        city.addResidence(new Residence("late"));
+        city.addPowerPlant(PlantType.WIND.create("wind-1"));
+
+        ByteBuffer frame = encoder.encode(city);
+        assertEquals(DeltaEncoder.DELTA_FRAME, frame.get(0));
+        apply(frame);
+        assertMirrored();
+        assertEquals(0.5, mirror.getResidences().get(9).getEnergyDemand());
+    }
+
+    @Test
+    void unchangedCityEncodesNoEntries() {
+        sync();
+        ByteBuffer frame = encoder.encode(city);
+        assertEquals(DeltaEncoder.DELTA_FRAME, frame.get(0));
+        apply(frame);
+        assertMirrored();
+    }
+
+    // ========== Structural Changes ==========
+
+    @Test
+    void plantReplacedByAnotherTypeSendsAFullFrame() {
+        sync();
+        city.removePowerPlant(0);
+        city.addPowerPlant(PlantType.NUCLEAR.create("nuclear-1"));
+
+        ByteBuffer frame = encoder.encode(city);
+        assertEquals(DeltaEncoder.FULL_FRAME, frame.get(0));
+        apply(frame);
+        assertMirrored();
+    }
+
+    @Test
+    void plantListSwappedAtSameSizeSendsAFullFrame() {
+        sync();
+        List<PowerPlant> swapped = new ArrayList<>();
+        swapped.add(PlantType.HYDRO.create("hydro-1"));
+        swapped.add(PlantType.BATTERY_STORAGE.create("battery-1"));
+        city.setPowerPlants(swapped);
+
+        ByteBuffer frame = encoder.encode(city);
+        assertEquals(DeltaEncoder.FULL_FRAME, frame.get(0));
+        apply(frame);
+        assertMirrored();
+    }
+
+    @Test
+    void residenceRemovedThenAddedSendsAFullFrame() {
+        sync();
+        city.removeResidence(3);
+        Residence replacement = new Residence("replacement");
+        replacement.setLevel(5);
+        city.addResidence(replacement);
+
+        ByteBuffer frame = encoder.encode(city);
+        assertEquals(DeltaEncoder.FULL_FRAME, frame.get(0));
+        apply(frame);
+        assertMirrored();
+    }
+
+    @Test
+    void fullFrameResendsOverriddenValues() {
+        sync();
+        city.getResidences().get(5).setEnergyDemand(0.5);
+        city.getResidences().get(6).setPurchasingPowerMax(99.0);
+        sync();
+
+        city.removeResidence(0);
+        ByteBuffer frame = encoder.encode(city);
+        assertEquals(DeltaEncoder.FULL_FRAME, frame.get(0));
+        apply(frame);
+        assertMirrored();
+        assertEquals(0.5, mirror.getResidences().get(4).getEnergyDemand());
+        assertEquals(99.0, mirror.getResidences().get(5).getPurchasingPowerMax());
+    }
+
+    @Test
+    void derivedValuesAreNotResent() {
+        for (Residence residence : city.getResidences()) {
+            residence.getEnergyDemand(); // Drawn, not overridden
+        }
+        assertEquals(0L, city.getResidences().get(0).getOverriddenFields());
+        sync();
+        assertMirrored();
+    }
+
+    // ========== Malformed Frames ==========
+
+    @Test
+    void unknownPlantTypeIsRejected() {
+        ByteBuffer frame = newPlantFrame((byte) 0xFF, 0L, (byte) 0);
+        assertThrows(IllegalArgumentException.class, () -> decoder.apply(frame, mirror));
+    }
+
+    @Test
+    void unknownPlantStatusIsRejected() {
+        ByteBuffer frame = newPlantFrame((byte) PlantType.COAL.ordinal(), PowerPlant.FIELD_STATUS, (byte) 0x7F);
+        assertThrows(IllegalArgumentException.class, () -> decoder.apply(frame, mirror));
+    }
+
+    @Test
+    void truncatedFrameIsRejected() {
+        ByteBuffer frame = encoder.encode(city);
+        try {
+            for (int length = 0; length < frame.remaining(); length++) {
+                ByteBuffer truncated = frame.duplicate();
+                truncated.limit(truncated.position() + length);
+                assertThrows(IllegalArgumentException.class,
+                        () -> decoder.apply(truncated, new City(null, 0.0)), "length " + length);
+            }
+        } finally {
+            pool.release(frame);
+        }
+    }
+
+    // ========== Helpers ==========
+
+    private void sync() {
+        apply(encoder.encode(city));
+    }
+
+    private void apply(ByteBuffer frame) {
+        try {
+            decoder.apply(frame, mirror);
+        } finally {
+            pool.release(frame);
+        }
+    }
+
+    /**
+     * Full frame holding one plant with the given type byte and fields.
+     */
+    private static ByteBuffer newPlantFrame(byte type, long mask, byte status) {
+        ByteBuffer frame = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+        frame.put(DeltaEncoder.FULL_FRAME);
+        frame.put((byte) 0); // City mask
+        frame.put((byte) 0); // No census
+        frame.put((byte) 1); // Plant count
+        frame.putInt(1); // Plant entries
+        frame.put((byte) 0); // Index
+        frame.put(type);
+        frame.put((byte) mask);
+        if (mask != 0L) {
+            frame.put(status);
+        }
+        frame.put((byte) 0); // Residence count
+        frame.putInt(0); // Residence entries
+        frame.flip();
+        return frame;
+    }
+
+    private void assertMirrored() {
+        assertEquals(city.getName(), mirror.getName());
+        assertEquals(city.getCurrentDay(), mirror.getCurrentDay());
+        assertEquals(city.getTotalCoins(), mirror.getTotalCoins());
+        assertEquals(city.getResidenceCensus().getSeed(), mirror.getResidenceCensus().getSeed());
+
+        List<PowerPlant> plants = city.getPowerPlants();
+        assertEquals(plants.size(), mirror.getPowerPlants().size());
+        for (int i = 0; i < plants.size(); i++) {
+            PowerPlant expected = plants.get(i);
+            PowerPlant actual = mirror.getPowerPlants().get(i);
+            assertSame(expected.getClass(), actual.getClass());
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getLevel(), actual.getLevel());
+            assertEquals(expected.getX(), actual.getX());
+            assertEquals(expected.getY(), actual.getY());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getPowerOutput(), actual.getPowerOutput());
+            assertEquals(expected.getCurrentEnergyStored(), actual.getCurrentEnergyStored());
+            assertEquals(expected.getRemainingTime(), actual.getRemainingTime());
+        }
+
+        List<Residence> residences = city.getResidences();
+        assertEquals(residences.size(), mirror.getResidences().size());
+        for (int i = 0; i < residences.size(); i++) {
+            Residence expected = residences.get(i);
+            Residence actual = mirror.getResidences().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getLevel(), actual.getLevel());
+            assertEquals(expected.getCurrentOccupancy(), actual.getCurrentOccupancy());
+            assertEquals(expected.isSupplied(), actual.isSupplied());
+            assertEquals(expected.getEnergyDemand(), actual.getEnergyDemand());
+            assertEquals(expected.getPurchasingPower(), actual.getPurchasingPower());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package model.sync;
+
+import static model.sync.SharedStoreLayout.RESIDENCES_PER_PAGE;
+import static model.sync.SharedStoreLayout.plantPageOffset;
+import static model.sync.SharedStoreLayout.residencePageOffset;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.entite.City;
+import model.entite.PlantType;
+import model.entite.Residence;
+
+/**
+ * Pages rewritten by {@link SharedBuildingStore#publish}, seen through their
+ * seqlock sequences.
+ */
+class SharedBuildingStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void unchangedPagesAreNotRewritten() throws IOException {
+        City city = city(3 * RESIDENCES_PER_PAGE);
+        Path path = directory.resolve("city.store");
+        try (SharedBuildingStore store = SharedBuildingStore.create(path, 4, 4 * RESIDENCES_PER_PAGE);
+                SharedBuildingReader reader = SharedBuildingReader.open(path)) {
+            store.publish(city, true);
+            int[] before = sequences(reader);
+
+            store.publish(city, true);
+            for (int page = 1; page < before.length; page++) {
+                assertEquals(before[page], sequences(reader)[page], "page " + page);
+            }
+
+            city.getResidences().get(RESIDENCES_PER_PAGE + 3).setCurrentOccupancy(7);
+            store.publish(city, true);
+            int[] after = sequences(reader);
+            assertEquals(before[1], after[1]); // Plants
+            assertEquals(before[2], after[2]);
+            assertEquals(before[3] + 2, after[3]);
+            assertEquals(before[4], after[4]);
+
+            reader.refresh();
+            assertEquals(7, reader.residenceView().moveTo(RESIDENCES_PER_PAGE + 3).getCurrentOccupancy());
+        }
+    }
+
+    @Test
+    void addedAndRemovedBuildingsArePublished() throws IOException {
+        City city = city(RESIDENCES_PER_PAGE);
+        Path path = directory.resolve("city.store");
+        try (SharedBuildingStore store = SharedBuildingStore.create(path, 4, 4 * RESIDENCES_PER_PAGE);
+                SharedBuildingReader reader = SharedBuildingReader.open(path)) {
+            store.publish(city, true);
+            city.addResidence(new Residence("late"));
+            store.publish(city, true);
+            reader.refresh();
+            assertEquals("late", reader.residenceView().moveTo(RESIDENCES_PER_PAGE).getId());
+
+            // Removal shifts every later record
+            int[] before = sequences(reader);
+            city.removeResidence(0);
+            store.publish(city, true);
+            reader.refresh();
+            assertEquals("r-1", reader.residenceView().moveTo(0).getId());
+            assertEquals("late", reader.residenceView().moveTo(RESIDENCES_PER_PAGE - 1).getId());
+            assertNotEquals(before[2], sequences(reader)[2]);
+        }
+    }
+
+    /**
+     * Sequences of the header, the plant page and the residence pages.
+     */
+    private static int[] sequences(SharedBuildingReader reader) {
+        int residencePages = 4;
+        int[] sequences = new int[2 + residencePages];
+        sequences[0] = reader.getBuffer().getInt(0);
+        sequences[1] = reader.getBuffer().getInt(plantPageOffset(0));
+        for (int page = 0; page < residencePages; page++) {
+            sequences[2 + page] = reader.getBuffer().getInt(residencePageOffset(reader.getPlantCapacity(), page));
+        }
+        return sequences;
+    }
+
+    private static City city(int residences) {
+        City city = new City("Shared", 0.0);
+        city.addPowerPlant(PlantType.COAL.create("coal-1"));
+        for (int i = 0; i < residences; i++) {
+            city.addResidence(new Residence("r-" + i));
+        }
+        return city;
+    }
+}